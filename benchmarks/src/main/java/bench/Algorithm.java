@@ -0,0 +1,58 @@
+package bench;
+
+import engine.AdaptiveMergeSorter;
+import engine.AutoSorter;
+import engine.BinarySearcher;
+import engine.BubbleSorter;
+import engine.DualPivotQuickSorter;
+import engine.Engines;
+import engine.ExponentialSearcher;
+import engine.InsertionSorter;
+import engine.InterpolationSearcher;
+import engine.IntroSorter;
+import engine.LinearSearcher;
+import engine.MergeSorter;
+import engine.ParallelLinearSearcher;
+import engine.ParallelMergeSorter;
+import engine.ParallelQuickSorter;
+import engine.ParallelRadixSorter;
+import engine.QuickSorter;
+import engine.RadixSorter;
+import engine.Searcher;
+import engine.SelectionSorter;
+import engine.ThreeWayQuickSorter;
+import engine.Sorter;
+
+/**
+ * The engines a benchmark can drive, selected through a JMH {@code @Param}.
+ */
+public enum Algorithm {
+    BUBBLE(new BubbleSorter(), null),
+    SELECTION(new SelectionSorter(), null),
+    INSERTION(new InsertionSorter(), null),
+    MERGE(new MergeSorter(), null),
+    QUICK(new IntroSorter(), null),
+    LOMUTO_QUICK(new QuickSorter(), null),
+    THREE_WAY_QUICK(new ThreeWayQuickSorter(), null),
+    DUAL_PIVOT_QUICK(new DualPivotQuickSorter(), null),
+    PARALLEL_QUICK(new ParallelQuickSorter(), null),
+    PARALLEL_MERGE(new ParallelMergeSorter(), null),
+    ADAPTIVE_MERGE(new AdaptiveMergeSorter(), null),
+    RADIX(new RadixSorter(), null),
+    PARALLEL_RADIX(new ParallelRadixSorter(), null),
+    AUTO(new AutoSorter(), null),
+    LINEAR(null, new LinearSearcher()),
+    VECTOR_LINEAR(null, Engines.searcher("vector-linear")),
+    PARALLEL_LINEAR(null, new ParallelLinearSearcher()),
+    BINARY(null, new BinarySearcher()),
+    INTERPOLATION(null, new InterpolationSearcher()),
+    EXPONENTIAL(null, new ExponentialSearcher());
+
+    final Sorter sorter;
+    final Searcher searcher;
+
+    Algorithm(Sorter sorter, Searcher searcher) {
+        this.sorter = sorter;
+        this.searcher = searcher;
+    }
+}
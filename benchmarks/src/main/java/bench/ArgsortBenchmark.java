@@ -0,0 +1,68 @@
+package bench;
+
+import engine.CoSorter;
+import engine.Engines;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * BENCHMARK: Argsort
+ *
+ * DESCRIPTION:
+ * The sorted order of a score column, computed by each CoSorter and by
+ * the boxed approach it replaces: an Integer[] of row numbers sorted with
+ * a comparator that looks the scores up.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ArgsortBenchmark {
+
+    @Param({"merge", "quick", "radix"})
+    public String engine;
+
+    @Param({"1000", "100000", "10000000"})
+    public int size;
+
+    @Param({"RANDOM", "SORTED", "FEW_UNIQUE", "NAN_LADEN"})
+    public Shape shape;
+
+    private double[] scores;
+    private CoSorter coSorter;
+
+    @Setup
+    public void setUp() {
+        scores = shape.generate(size);
+        coSorter = Engines.coSorter(engine);
+    }
+
+    @Benchmark
+    public int[] argsort() {
+        return coSorter.argsort(scores);
+    }
+
+    @Benchmark
+    public Integer[] boxedComparator() {
+        Integer[] rows = new Integer[size];
+        for (int i = 0; i < size; i++) rows[i] = i;
+        Arrays.sort(rows, Comparator.comparingDouble(i -> scores[i]));
+        return rows;
+    }
+}
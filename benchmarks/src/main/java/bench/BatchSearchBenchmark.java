@@ -0,0 +1,75 @@
+package bench;
+
+import engine.BatchBinarySearcher;
+import engine.BinarySearcher;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * BENCHMARK: Batched lookups
+ *
+ * DESCRIPTION:
+ * Resolves a whole batch of keys against one sorted array, either with one
+ * BinarySearcher call per key or with a single BatchBinarySearcher call.
+ * Keys are drawn as in SearchBenchmark: half hits, half random. The score is
+ * the time for the entire batch.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class BatchSearchBenchmark {
+
+    @Param({"1000000", "10000000", "100000000"})
+    public int size;
+
+    @Param({"10000", "1000000"})
+    public int batch;
+
+    private final BinarySearcher single = new BinarySearcher();
+    private final BatchBinarySearcher batched = new BatchBinarySearcher();
+    private double[] data;
+    private double[] keys;
+
+    @Setup
+    public void setUp() {
+        data = Shape.RANDOM.generate(size);
+        Arrays.sort(data);
+
+        Random rnd = new Random(Shape.SEED);
+        keys = new double[batch];
+        for (int i = 0; i < batch; i++) {
+            keys[i] = i % 2 == 0 ? data[rnd.nextInt(size)] : rnd.nextDouble() * size;
+        }
+    }
+
+    @Benchmark
+    public int[] oneByOne() {
+        int[] result = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            result[i] = single.search(data, keys[i]);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public int[] batched() {
+        return batched.searchAll(data, keys);
+    }
+}
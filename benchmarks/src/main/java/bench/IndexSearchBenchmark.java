@@ -0,0 +1,75 @@
+package bench;
+
+import engine.BinarySearcher;
+import engine.BlockedSearchIndex;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * BENCHMARK: Blocked search index
+ *
+ * DESCRIPTION:
+ * Single-key lookup latency of BlockedSearchIndex against BinarySearcher on
+ * the same sorted data, with the probe table of SearchBenchmark (half hits,
+ * half random keys). Building the index is not timed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class IndexSearchBenchmark {
+
+    private static final int PROBES = 1 << 16;
+
+    @Param({"1000000", "10000000", "100000000"})
+    public int size;
+
+    private final BinarySearcher binary = new BinarySearcher();
+    private double[] data;
+    private BlockedSearchIndex index;
+    private double[] keys;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        data = Shape.RANDOM.generate(size);
+        Arrays.sort(data);
+        index = new BlockedSearchIndex(data);
+
+        Random rnd = new Random(Shape.SEED);
+        keys = new double[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            keys[i] = i % 2 == 0 ? data[rnd.nextInt(size)] : rnd.nextDouble() * size;
+        }
+    }
+
+    @Benchmark
+    public int binarySearch() {
+        double key = keys[next];
+        next = (next + 1) & (PROBES - 1);
+        return binary.search(data, key);
+    }
+
+    @Benchmark
+    public int blockedIndex() {
+        double key = keys[next];
+        next = (next + 1) & (PROBES - 1);
+        return index.search(key);
+    }
+}
@@ -0,0 +1,84 @@
+package bench;
+
+import engine.BinarySearcher;
+import engine.OnlineSortedArray;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * BENCHMARK: Online inserts
+ *
+ * DESCRIPTION:
+ * Steady-state cost of keeping a stream of values sorted: each operation
+ * inserts one random value and deletes another, so the size stays at size.
+ * OnlineSortedArray is compared with a flat sorted array that shifts its
+ * tail on every insert and delete, the way Insertion Sort does.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class OnlineInsertBenchmark {
+
+    private static final int PROBES = 1 << 16;
+
+    @Param({"10000", "1000000", "10000000"})
+    public int size;
+
+    private final BinarySearcher binary = new BinarySearcher();
+    private OnlineSortedArray online;
+    private double[] flat;
+    private double[] values;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        double[] data = Shape.RANDOM.generate(size);
+        online = new OnlineSortedArray(data);
+        flat = Arrays.copyOf(data, size + 1);
+        Arrays.sort(flat, 0, size);
+
+        Random rnd = new Random(Shape.SEED);
+        values = new double[PROBES];
+        for (int i = 0; i < PROBES; i++) values[i] = rnd.nextDouble();
+    }
+
+    @Benchmark
+    public double onlineSortedArray() {
+        double value = values[next];
+        next = (next + 1) & (PROBES - 1);
+        online.add(value);
+        return online.removeRank((int) (value * size));
+    }
+
+    @Benchmark
+    public double flatArray() {
+        double value = values[next];
+        next = (next + 1) & (PROBES - 1);
+
+        int i = binary.upperBound(flat, 0, size, value);
+        System.arraycopy(flat, i, flat, i + 1, size - i);
+        flat[i] = value;
+
+        int victim = (int) (value * size);
+        double removed = flat[victim];
+        System.arraycopy(flat, victim + 1, flat, victim, size - victim);
+        return removed;
+    }
+}
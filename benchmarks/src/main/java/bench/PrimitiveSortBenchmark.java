@@ -0,0 +1,107 @@
+package bench;
+
+import engine.IntroSorter;
+import engine.RadixSorter;
+import engine.primitive.IntIntroSorter;
+import engine.primitive.IntRadixSorter;
+import engine.primitive.LongIntroSorter;
+import engine.primitive.LongRadixSorter;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * BENCHMARK: Primitive specializations
+ *
+ * DESCRIPTION:
+ * The same integer data (uniform in [0, 2^30)) sorted as int[], as long[]
+ * and widened to double[], by Introsort and by radix sort. This shows what
+ * widening costs in memory traffic. Every invocation sorts a fresh copy,
+ * as in SortBenchmark. 1e8 is left out: the six arrays would not fit the
+ * 4 GB heap.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class PrimitiveSortBenchmark {
+
+    @Param({"1000000", "10000000"})
+    public int size;
+
+    private int[] ints, intWork;
+    private long[] longs, longWork;
+    private double[] doubles, doubleWork;
+
+    @Setup
+    public void setUp() {
+        Random rnd = new Random(Shape.SEED);
+        ints = new int[size];
+        longs = new long[size];
+        doubles = new double[size];
+        for (int i = 0; i < size; i++) {
+            ints[i] = rnd.nextInt(1 << 30);
+            longs[i] = ints[i];
+            doubles[i] = ints[i];
+        }
+        intWork = new int[size];
+        longWork = new long[size];
+        doubleWork = new double[size];
+    }
+
+    @Benchmark
+    public int[] intIntro() {
+        System.arraycopy(ints, 0, intWork, 0, size);
+        new IntIntroSorter().sort(intWork);
+        return intWork;
+    }
+
+    @Benchmark
+    public int[] intRadix() {
+        System.arraycopy(ints, 0, intWork, 0, size);
+        new IntRadixSorter().sort(intWork);
+        return intWork;
+    }
+
+    @Benchmark
+    public long[] longIntro() {
+        System.arraycopy(longs, 0, longWork, 0, size);
+        new LongIntroSorter().sort(longWork);
+        return longWork;
+    }
+
+    @Benchmark
+    public long[] longRadix() {
+        System.arraycopy(longs, 0, longWork, 0, size);
+        new LongRadixSorter().sort(longWork);
+        return longWork;
+    }
+
+    @Benchmark
+    public double[] doubleIntro() {
+        System.arraycopy(doubles, 0, doubleWork, 0, size);
+        new IntroSorter().sort(doubleWork);
+        return doubleWork;
+    }
+
+    @Benchmark
+    public double[] doubleRadix() {
+        System.arraycopy(doubles, 0, doubleWork, 0, size);
+        new RadixSorter().sort(doubleWork);
+        return doubleWork;
+    }
+}
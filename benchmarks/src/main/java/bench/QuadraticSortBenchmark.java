@@ -0,0 +1,60 @@
+package bench;
+
+import engine.Sorter;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * BENCHMARK: O(n²) sorts (Bubble Sort, Selection Sort, Insertion Sort)
+ *
+ * DESCRIPTION:
+ * Same harness as {@link SortBenchmark}, capped at 1e5 elements: at 1e6 a
+ * single quadratic sort already takes minutes, which tells us nothing new.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QuadraticSortBenchmark {
+
+    @Param({"BUBBLE", "SELECTION", "INSERTION"})
+    public Algorithm algorithm;
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    @Param({"RANDOM", "SORTED", "REVERSED", "FEW_UNIQUE", "ORGAN_PIPE", "NAN_LADEN"})
+    public Shape shape;
+
+    private double[] source;
+    private double[] work;
+    private Sorter sorter;
+
+    @Setup
+    public void setUp() {
+        source = shape.generate(size);
+        work = new double[size];
+        sorter = algorithm.sorter;
+    }
+
+    @Benchmark
+    public double[] sort() {
+        System.arraycopy(source, 0, work, 0, size);
+        sorter.sort(work);
+        return work;
+    }
+}
@@ -0,0 +1,76 @@
+package bench;
+
+import engine.BinarySearcher;
+import engine.Searcher;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * BENCHMARK: Linear Search and the Binary Search family
+ *
+ * DESCRIPTION:
+ * Each invocation looks up the next key from a fixed table of probes, half
+ * of them taken from the data (hits) and half drawn at random (mostly misses),
+ * so branch predictors and caches cannot settle on a single key. Binary Search
+ * and its interpolation and exponential variants run on a sorted copy of the
+ * input, as BinarySearch.run does. The forked JVM enables the Vector API
+ * module for VECTOR_LINEAR and PARALLEL_LINEAR.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g", "--add-modules=jdk.incubator.vector"})
+public class SearchBenchmark {
+
+    private static final int PROBES = 1024;
+
+    @Param({"LINEAR", "VECTOR_LINEAR", "PARALLEL_LINEAR", "BINARY", "INTERPOLATION", "EXPONENTIAL"})
+    public Algorithm algorithm;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000", "100000000"})
+    public int size;
+
+    @Param({"RANDOM", "SORTED", "REVERSED", "FEW_UNIQUE", "ORGAN_PIPE", "NAN_LADEN"})
+    public Shape shape;
+
+    private double[] data;
+    private double[] keys;
+    private int next;
+    private Searcher searcher;
+
+    @Setup
+    public void setUp() {
+        searcher = algorithm.searcher;
+        data = shape.generate(size);
+        if (searcher instanceof BinarySearcher) Arrays.sort(data);
+
+        Random rnd = new Random(Shape.SEED);
+        keys = new double[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            keys[i] = i % 2 == 0 ? data[rnd.nextInt(size)] : rnd.nextDouble() * size;
+        }
+    }
+
+    @Benchmark
+    public int search() {
+        double key = keys[next];
+        next = (next + 1) & (PROBES - 1);
+        return searcher.search(data, key);
+    }
+}
@@ -0,0 +1,79 @@
+package bench;
+
+import engine.IntroSelector;
+import engine.RadixSorter;
+import engine.StreamingTopK;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * BENCHMARK: Selection
+ *
+ * DESCRIPTION:
+ * p50 and p99 of the same data, by introselect and by a full sort (the
+ * fastest one, radix) followed by indexing. The k = 100 smallest values are
+ * also collected by StreamingTopK. As in SortBenchmark, every invocation
+ * starts from a fresh copy of the input.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class SelectBenchmark {
+
+    private static final double[] PERCENTILES = {50, 99};
+    private static final int TOP_K = 100;
+
+    @Param({"1000000", "10000000", "100000000"})
+    public int size;
+
+    @Param({"RANDOM", "SORTED", "FEW_UNIQUE", "ORGAN_PIPE", "NAN_LADEN"})
+    public Shape shape;
+
+    private final IntroSelector selector = new IntroSelector();
+    private final RadixSorter sorter = new RadixSorter();
+    private double[] source;
+    private double[] work;
+
+    @Setup
+    public void setUp() {
+        source = shape.generate(size);
+        work = new double[size];
+    }
+
+    @Benchmark
+    public double[] introselect() {
+        System.arraycopy(source, 0, work, 0, size);
+        return selector.percentiles(work, PERCENTILES);
+    }
+
+    @Benchmark
+    public double sortThenIndex() {
+        System.arraycopy(source, 0, work, 0, size);
+        sorter.sort(work);
+        int numbers = size;
+        while (numbers > 0 && Double.isNaN(work[numbers - 1])) numbers--;
+        return work[(numbers - 1) / 2] + work[(int) ((numbers - 1) * 0.99)];
+    }
+
+    @Benchmark
+    public double[] streamingTopK() {
+        StreamingTopK top = StreamingTopK.smallest(TOP_K);
+        top.addAll(source);
+        return top.result();
+    }
+}
@@ -0,0 +1,70 @@
+package bench;
+
+import java.util.Random;
+
+/**
+ * Input shapes used by the benchmarks.
+ *
+ * DESCRIPTION:
+ * Each shape fills an array of the requested size from a fixed seed, so every
+ * algorithm sees exactly the same data for a given (shape, size) pair.
+ *
+ * SHAPES:
+ * - RANDOM:     uniform values in [0, 1)
+ * - SORTED:     ascending
+ * - REVERSED:   descending
+ * - FEW_UNIQUE: 16 distinct values in random order
+ * - ORGAN_PIPE: ascending first half, descending second half
+ * - NAN_LADEN:  random values with roughly 10% NaN mixed in
+ */
+public enum Shape {
+    RANDOM {
+        @Override
+        void fill(double[] arr, Random rnd) {
+            for (int i = 0; i < arr.length; i++) arr[i] = rnd.nextDouble();
+        }
+    },
+    SORTED {
+        @Override
+        void fill(double[] arr, Random rnd) {
+            for (int i = 0; i < arr.length; i++) arr[i] = i;
+        }
+    },
+    REVERSED {
+        @Override
+        void fill(double[] arr, Random rnd) {
+            for (int i = 0; i < arr.length; i++) arr[i] = arr.length - i;
+        }
+    },
+    FEW_UNIQUE {
+        @Override
+        void fill(double[] arr, Random rnd) {
+            for (int i = 0; i < arr.length; i++) arr[i] = rnd.nextInt(16);
+        }
+    },
+    ORGAN_PIPE {
+        @Override
+        void fill(double[] arr, Random rnd) {
+            int half = arr.length / 2;
+            for (int i = 0; i < arr.length; i++) arr[i] = i < half ? i : arr.length - i;
+        }
+    },
+    NAN_LADEN {
+        @Override
+        void fill(double[] arr, Random rnd) {
+            for (int i = 0; i < arr.length; i++) {
+                arr[i] = rnd.nextInt(10) == 0 ? Double.NaN : rnd.nextDouble();
+            }
+        }
+    };
+
+    static final long SEED = 42L;
+
+    abstract void fill(double[] arr, Random rnd);
+
+    public double[] generate(int n) {
+        double[] arr = new double[n];
+        fill(arr, new Random(SEED));
+        return arr;
+    }
+}
@@ -0,0 +1,73 @@
+package engine;
+
+import java.util.Objects;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * ENGINE: Vectorized Linear Search
+ *
+ * DESCRIPTION:
+ * LinearSearcher with the comparisons done several lanes at a time through
+ * the Java Vector API (jdk.incubator.vector). Each iteration loads four
+ * vectors of the preferred width, which is 4 lanes with AVX2 and 8 with
+ * AVX-512. It applies the same test as LinearSearcher lane by lane:
+ *
+ *     |arr[i] - key| < EPSILON   (subtract, absolute value, compare)
+ *
+ * The four lane masks are OR-ed together, so the loop takes one branch per
+ * block instead of one per element. When a block reports a hit, a scalar
+ * scan of just that block finds the first matching element. The elements
+ * left over after the last full block are checked by the same scalar loop.
+ * The result is always identical to LinearSearcher's: the lowest matching
+ * index, or -1.
+ *
+ * BUILD:
+ * The Vector API is still an incubator module, so this class lives in
+ * src-vector and needs --add-modules jdk.incubator.vector at both compile
+ * and run time. Engines.searcher("vector-linear") loads it only if it is
+ * there and usable, and otherwise falls back to LinearSearcher.
+ *
+ * TIME COMPLEXITY: O(n)
+ * SPACE COMPLEXITY: O(1)
+ */
+public class VectorLinearSearcher implements Searcher {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+    private static final int BLOCK = 4 * LANES;
+
+    @Override
+    public int search(double[] arr, int from, int to, double key) {
+        Objects.checkFromToIndex(from, to, arr.length);
+
+        DoubleVector keys = DoubleVector.broadcast(SPECIES, key);
+        int i = from;
+        for (int upper = to - BLOCK; i <= upper; i += BLOCK) {
+            VectorMask<Double> hits = matches(arr, i, keys)
+                    .or(matches(arr, i + LANES, keys))
+                    .or(matches(arr, i + 2 * LANES, keys))
+                    .or(matches(arr, i + 3 * LANES, keys));
+            if (hits.anyTrue()) return scan(arr, i, i + BLOCK, key);
+        }
+        return scan(arr, i, to, key);
+    }
+
+    private static VectorMask<Double> matches(double[] arr, int offset, DoubleVector keys) {
+        return DoubleVector.fromArray(SPECIES, arr, offset)
+                .sub(keys)
+                .abs()
+                .compare(VectorOperators.LT, EPSILON);
+    }
+
+    private static int scan(double[] arr, int from, int to, double key) {
+        for (int i = from; i < to; i++) {
+            if (Math.abs(arr[i] - key) < EPSILON) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,477 @@
+import engine.BatchBinarySearcher;
+import engine.BinarySearcher;
+import engine.Engines;
+import engine.IntroSelector;
+import engine.Searcher;
+import engine.SortedIndex;
+import engine.SortedIndexCache;
+import engine.Sorter;
+import engine.StreamingTopK;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Batch Runner
+ *
+ * DESCRIPTION:
+ * Headless counterpart of the interactive menu. Instead of prompting for every
+ * element, it loads whole dataset files through DatasetReader and runs one
+ * algorithm on each file, printing only a short summary.
+ *
+ * USAGE:
+ * java Main <algorithm> [--key <value> | --keys <file> | --range <low> <high>] [--index-dir <dir>]
+ *           [--external [--memory <size>] [--spill-dir <dir>]]
+ *           [--output <file>] [--binary] <file> [<file> ...]
+ * java Main select (--percentile <p>[,<p>...] | --smallest <k> | --largest <k>) <file> [<file> ...]
+ *
+ * - algorithm: menu number (1-7) or any engine name known to engine.Engines.
+ *   "auto" profiles each file and picks the sort for it, logging the
+ *   decision to standard error for the first file and whenever it changes
+ *   (see engine.AutoSorter)
+ * - --key: search key, required for linear and binary search. Binary search
+ *   reports the key's position in the file, not in the sorted copy; sorted
+ *   copies are cached by content, so repeated datasets are sorted only once.
+ *   "binary" uses the searcher that engine.SearchProfile picks for the
+ *   sorted copy and prints the decision; "interpolation" and "exponential"
+ *   force theirs
+ * - --keys: file of search keys; binary search sorts the data once and looks
+ *   up all of them in one batch (see engine.BatchBinarySearcher). Only for
+ *   "binary", not interpolation or exponential
+ * - --range: binary search counts the elements in [low, high) instead of
+ *   looking up a key. Only for "binary", like --keys
+ * - --index-dir: also keep the sorted copies for binary search in this
+ *   directory, one file per dataset, so later runs on the same data load
+ *   them instead of sorting (see engine.SortedIndexCache)
+ * - --external: sort files larger than the heap through ExternalSorter; the
+ *   result of each file goes to <file>.sorted, one number per line
+ * - --memory: heap budget for --external, e.g. 512m or 4g (default: a
+ *   quarter of the maximum heap)
+ * - --spill-dir: directory for the temporary run files (default: the system
+ *   temporary directory)
+ * - --output: write the sorted values to a file, or to standard output for
+ *   "-" (the summary then goes to standard error). With several input files
+ *   their results follow each other. Written through ResultWriter, one value
+ *   per line
+ * - --binary: write raw little-endian doubles instead of text, for --output
+ *   and for the <file>.sorted files of --external
+ * - select: order statistics without a full sort. --percentile loads the file
+ *   and uses engine.IntroSelector; --smallest and --largest stream the file
+ *   through engine.StreamingTopK, so it may be larger than the heap
+ * - file: text file of numbers, see DatasetReader for the format
+ */
+
+public class BatchRunner {
+    private static final String USAGE =
+            "Usage: java Main <algorithm> [--key <value>] [--index-dir <dir>] <file> [<file> ...]\n"
+            + "       java Main binary --keys <keys-file> <file> [<file> ...]\n"
+            + "       java Main binary --range <low> <high> <file> [<file> ...]\n"
+            + "       java Main <algorithm> --external [--memory <size>] [--spill-dir <dir>] [--binary] <file> [<file> ...]\n"
+            + "       java Main <algorithm> --output <out-file | -> [--binary] <file> [<file> ...]\n"
+            + "       java Main select (--percentile <p>[,<p>...] | --smallest <k> | --largest <k>) <file> [<file> ...]\n"
+            + "  algorithm: 1-7 or an engine name\n"
+            + "    searching: linear, vector-linear, parallel-linear, binary, interpolation,\n"
+            + "               exponential\n"
+            + "    sorting:   bubble, selection, insertion, merge, quick, lomuto-quick,\n"
+            + "               three-way-quick, dual-pivot-quick, parallel-quick, parallel-merge,\n"
+            + "               adaptive-merge, radix, parallel-radix,\n"
+            + "               auto (picks one of the above per file)";
+
+    private static final int STREAM_CHUNK = 1 << 16;
+
+    private final String[] args;
+    private SortedIndexCache indexes;
+
+    public BatchRunner(String[] args) {
+        this.args = args;
+    }
+
+    /**
+     * Runs the batch and returns the process exit status (0 on success).
+     */
+    public int run() {
+        String algorithm = args[0].toLowerCase(Locale.ROOT);
+        Double key = null;
+        Path keysFile = null;
+        double[] range = null;
+        boolean external = false;
+        long memory = Runtime.getRuntime().maxMemory() / 4;
+        Path spillDirectory = Paths.get(System.getProperty("java.io.tmpdir"));
+        Path indexDirectory = null;
+        double[] percentiles = null;
+        int topK = -1;
+        boolean largest = false;
+        String output = null;
+        ResultWriter.Format format = ResultWriter.Format.TEXT;
+        List<Path> files = new ArrayList<>();
+
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].equals("--key")) {
+                if (i + 1 == args.length) {
+                    System.err.println("Missing value after --key.");
+                    return 1;
+                }
+                try {
+                    key = Double.parseDouble(args[++i]);
+                } catch (NumberFormatException e) {
+                    System.err.println("Invalid search key: " + args[i]);
+                    return 1;
+                }
+            } else if (args[i].equals("--keys")) {
+                if (i + 1 == args.length) {
+                    System.err.println("Missing value after --keys.");
+                    return 1;
+                }
+                keysFile = Paths.get(args[++i]);
+            } else if (args[i].equals("--range")) {
+                if (i + 2 >= args.length) {
+                    System.err.println("--range needs a low and a high value.");
+                    return 1;
+                }
+                try {
+                    range = new double[] {Double.parseDouble(args[i + 1]), Double.parseDouble(args[i + 2])};
+                } catch (NumberFormatException e) {
+                    System.err.println("Invalid range: " + args[i + 1] + " " + args[i + 2]);
+                    return 1;
+                }
+                i += 2;
+            } else if (args[i].equals("--percentile")) {
+                if (i + 1 == args.length) {
+                    System.err.println("Missing value after --percentile.");
+                    return 1;
+                }
+                String[] parts = args[++i].split(",");
+                percentiles = new double[parts.length];
+                for (int p = 0; p < parts.length; p++) {
+                    try {
+                        percentiles[p] = Double.parseDouble(parts[p]);
+                    } catch (NumberFormatException e) {
+                        percentiles[p] = Double.NaN;
+                    }
+                    if (!(percentiles[p] >= 0 && percentiles[p] <= 100)) {
+                        System.err.println("Invalid percentile: " + parts[p]);
+                        return 1;
+                    }
+                }
+            } else if (args[i].equals("--smallest") || args[i].equals("--largest")) {
+                if (i + 1 == args.length) {
+                    System.err.println("Missing value after " + args[i] + ".");
+                    return 1;
+                }
+                largest = args[i].equals("--largest");
+                try {
+                    topK = Integer.parseInt(args[++i]);
+                } catch (NumberFormatException e) {
+                    topK = -1;
+                }
+                if (topK < 0) {
+                    System.err.println("Invalid count: " + args[i]);
+                    return 1;
+                }
+            } else if (args[i].equals("--index-dir")) {
+                if (i + 1 == args.length) {
+                    System.err.println("Missing value after --index-dir.");
+                    return 1;
+                }
+                indexDirectory = Paths.get(args[++i]);
+            } else if (args[i].equals("--external")) {
+                external = true;
+            } else if (args[i].equals("--output")) {
+                if (i + 1 == args.length) {
+                    System.err.println("Missing value after --output.");
+                    return 1;
+                }
+                output = args[++i];
+            } else if (args[i].equals("--binary")) {
+                format = ResultWriter.Format.BINARY;
+            } else if (args[i].equals("--memory") || args[i].equals("--spill-dir")) {
+                if (i + 1 == args.length) {
+                    System.err.println("Missing value after " + args[i] + ".");
+                    return 1;
+                }
+                if (args[i].equals("--spill-dir")) {
+                    spillDirectory = Paths.get(args[++i]);
+                } else if ((memory = parseSize(args[++i])) <= 0) {
+                    System.err.println("Invalid memory size: " + args[i]);
+                    return 1;
+                }
+            } else {
+                files.add(Paths.get(args[i]));
+            }
+        }
+
+        boolean select = algorithm.equals("select");
+        Sorter sorter = Engines.sorter(algorithm);
+        Searcher searcher = Engines.searcher(algorithm);
+        if (!select && sorter == null && searcher == null) {
+            System.err.println("Unknown algorithm: " + args[0]);
+            System.err.println(USAGE);
+            return 1;
+        }
+        if (files.isEmpty()) {
+            System.err.println("No dataset files given.");
+            System.err.println(USAGE);
+            return 1;
+        }
+        if (select) {
+            if ((percentiles == null) == (topK < 0)) {
+                System.err.println("select needs exactly one of --percentile, --smallest or --largest.");
+                return 1;
+            }
+            return percentiles != null ? runPercentiles(files, percentiles) : runTopK(files, topK, largest);
+        }
+        if (percentiles != null || topK >= 0) {
+            System.err.println("--percentile, --smallest and --largest only apply to select.");
+            return 1;
+        }
+        // Only "binary" (menu 2): interpolation and exponential search have no batched or range form
+        boolean binarySearch = searcher != null && searcher.getClass() == BinarySearcher.class;
+        if (keysFile != null && !binarySearch) {
+            System.err.println("--keys only applies to binary search, not to " + algorithm + ".");
+            return 1;
+        }
+        if (range != null && !binarySearch) {
+            System.err.println("--range only applies to binary search, not to " + algorithm + ".");
+            return 1;
+        }
+        if (indexDirectory != null && !(searcher instanceof BinarySearcher)) {
+            System.err.println("--index-dir only applies to binary search and its variants.");
+            return 1;
+        }
+        if (searcher != null && key == null && keysFile == null && range == null) {
+            System.err.println("Searching needs a key: --key <value>");
+            return 1;
+        }
+        if (searcher != null && (external || output != null || format == ResultWriter.Format.BINARY)) {
+            System.err.println("--external, --output and --binary only apply to sorting.");
+            return 1;
+        }
+        if (external && output != null) {
+            System.err.println("--external writes each result to <file>.sorted; --output does not apply.");
+            return 1;
+        }
+        indexes = new SortedIndexCache(Runtime.getRuntime().maxMemory() / 4, indexDirectory);
+        if (external) {
+            return runExternal(new ExternalSorter(sorter, memory, spillDirectory), files, format);
+        }
+        if (output != null) {
+            return runSortToOutput(sorter, files, output, format);
+        }
+
+        DatasetReader reader = new DatasetReader();
+        double[] keys = null;
+        if (keysFile != null) {
+            try {
+                keys = reader.read(keysFile);
+            } catch (IOException e) {
+                System.err.println(keysFile + ": " + e.getMessage());
+                return 1;
+            }
+        }
+
+        for (Path file : files) {
+            double[] arr;
+            long loadStart = System.nanoTime();
+            try {
+                arr = reader.read(file);
+            } catch (IOException e) {
+                System.err.println(file + ": " + e.getMessage());
+                return 1;
+            }
+            long loadEnd = System.nanoTime();
+
+            System.out.println(file + ": loaded " + arr.length + " elements in "
+                    + (loadEnd - loadStart) / 1_000_000 + " ms");
+
+            if (keys != null) {
+                runBatchSearch(arr, keys);
+            } else if (range != null) {
+                runRangeCount(arr, range[0], range[1]);
+            } else if (searcher != null) {
+                runSearch(searcher, arr, key);
+            } else {
+                long start = System.nanoTime();
+                sorter.sort(arr);
+                long end = System.nanoTime();
+                System.out.println("Empirical Running Time: " + (end - start) + " ns");
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Sorts every file and writes the results, one file after the other, to
+     * output ("-" for standard output).
+     */
+    private int runSortToOutput(Sorter sorter, List<Path> files, String output, ResultWriter.Format format) {
+        boolean toStandardOutput = output.equals("-");
+        PrintStream log = toStandardOutput ? System.err : System.out;
+        DatasetReader reader = new DatasetReader();
+
+        try (ResultWriter results = toStandardOutput
+                ? ResultWriter.standardOutput(format)
+                : ResultWriter.open(Paths.get(output), format)) {
+            for (Path file : files) {
+                double[] arr;
+                try {
+                    arr = reader.read(file);
+                } catch (IOException e) {
+                    System.err.println(file + ": " + e.getMessage());
+                    return 1;
+                }
+
+                long start = System.nanoTime();
+                sorter.sort(arr);
+                long end = System.nanoTime();
+                results.write(arr);
+                results.flush();
+                long written = System.nanoTime();
+
+                log.println(file + ": sorted " + arr.length + " elements");
+                log.println("Empirical Running Time: " + (end - start) + " ns");
+                log.println("Output Time: " + (written - end) + " ns");
+            }
+        } catch (IOException e) {
+            System.err.println(output + ": " + e.getMessage());
+            return 1;
+        }
+        return 0;
+    }
+
+    private int runExternal(ExternalSorter externalSorter, List<Path> files, ResultWriter.Format format) {
+        for (Path file : files) {
+            Path output = Paths.get(file + ".sorted");
+            long start = System.nanoTime();
+            long count;
+            try {
+                count = externalSorter.sort(file, output, format);
+            } catch (IOException e) {
+                System.err.println(file + ": " + e.getMessage());
+                return 1;
+            }
+            long end = System.nanoTime();
+
+            System.out.println(file + ": sorted " + count + " elements into " + output);
+            System.out.println("Empirical Running Time: " + (end - start) + " ns");
+        }
+        return 0;
+    }
+
+    private int runPercentiles(List<Path> files, double[] percentiles) {
+        DatasetReader reader = new DatasetReader();
+        for (Path file : files) {
+            double[] arr;
+            try {
+                arr = reader.read(file);
+            } catch (IOException e) {
+                System.err.println(file + ": " + e.getMessage());
+                return 1;
+            }
+
+            long start = System.nanoTime();
+            double[] values = new IntroSelector().percentiles(arr, percentiles);
+            long end = System.nanoTime();
+
+            System.out.println(file + ": " + arr.length + " elements");
+            for (int p = 0; p < percentiles.length; p++) {
+                System.out.println("p" + percentiles[p] + " = " + values[p]);
+            }
+            System.out.println("Empirical Running Time: " + (end - start) + " ns");
+        }
+        return 0;
+    }
+
+    private int runTopK(List<Path> files, int k, boolean largest) {
+        DatasetReader reader = new DatasetReader();
+        for (Path file : files) {
+            StreamingTopK top = largest ? StreamingTopK.largest(k) : StreamingTopK.smallest(k);
+            long start = System.nanoTime();
+            try {
+                reader.read(file, new double[STREAM_CHUNK], (chunk, length) -> {
+                    top.addAll(chunk, 0, length);
+                    return chunk;
+                });
+            } catch (IOException e) {
+                System.err.println(file + ": " + e.getMessage());
+                return 1;
+            }
+            double[] result = top.result();
+            long end = System.nanoTime();
+
+            System.out.println(file + ": " + (largest ? "largest " : "smallest ") + result.length
+                    + " of " + top.count() + " numbers:");
+            for (double value : result) System.out.println(value);
+            System.out.println("Empirical Running Time: " + (end - start) + " ns");
+        }
+        return 0;
+    }
+
+    /**
+     * Parses a byte count with an optional k, m or g suffix; -1 if invalid.
+     */
+    private static long parseSize(String text) {
+        String digits = text.toLowerCase(Locale.ROOT);
+        int shift = 0;
+        if (digits.endsWith("k")) shift = 10;
+        else if (digits.endsWith("m")) shift = 20;
+        else if (digits.endsWith("g")) shift = 30;
+        if (shift != 0) digits = digits.substring(0, digits.length() - 1);
+        try {
+            long value = Long.parseLong(digits);
+            return value > 0 && value <= Long.MAX_VALUE >> shift ? value << shift : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void runBatchSearch(double[] arr, double[] keys) {
+        long start = System.nanoTime();
+        int[] indices = indexes.get(arr).searchAll(new BatchBinarySearcher(), keys); // Sorted once for the whole batch
+        long end = System.nanoTime();
+
+        int found = 0;
+        for (int index : indices) {
+            if (index != -1) found++;
+        }
+        System.out.println(found + " of " + keys.length + " keys found.");
+        System.out.println("Empirical Running Time: " + (end - start) + " ns");
+    }
+
+    private void runRangeCount(double[] arr, double low, double high) {
+        SortedIndex sorted = indexes.get(arr); // Sorted once per dataset; the time below is the query alone
+        long start = System.nanoTime();
+        int first = sorted.lowerBound(low);
+        int count = sorted.countInRange(low, high);
+        long end = System.nanoTime();
+
+        System.out.println(count + " elements in [" + low + ", " + high + ")"
+                + (count > 0 ? ", from sorted index " + first : "") + ".");
+        System.out.println("Empirical Running Time: " + (end - start) + " ns");
+    }
+
+    private void runSearch(Searcher searcher, double[] arr, double key) {
+        long start = System.nanoTime();
+        int index;
+        SortedIndex sorted = null;
+        if (searcher instanceof BinarySearcher) {
+            // Binary search and its variants require sorted input
+            sorted = indexes.get(arr);
+            // Plain binary search defers to the searcher profiled when the index was built
+            index = searcher.getClass() == BinarySearcher.class ? sorted.search(key) : sorted.search(searcher, key);
+        } else {
+            index = searcher.search(arr, key);
+        }
+        long end = System.nanoTime();
+
+        if (sorted != null && searcher.getClass() == BinarySearcher.class) {
+            System.out.println("Searcher: " + sorted.profile());
+        }
+        System.out.println(index == -1 ? "Key not found." : "Key found at index: " + index);
+        System.out.println("Empirical Running Time: " + (end - start) + " ns");
+    }
+}
@@ -1,4 +1,6 @@
-import java.util.Arrays;
+import engine.SortedIndex;
+import engine.SortedIndexCache;
+
 import java.util.Scanner;
 
 /**
@@ -6,6 +8,14 @@ import java.util.Scanner;
  *
  * DESCRIPTION:
  * Searches a sorted array by repeatedly dividing the search interval in half.
+ * The searching kernel lives in engine.BinarySearcher; this class only handles
+ * console input and output. The engine keeps halving until the first match is
+ * pinned down, so with duplicates it reports the lowest matching index.
+ *
+ * The entered array is not sorted in place. A SortedIndex keeps a sorted copy
+ * together with each element's original position, so the reported index is
+ * the position the key was entered at. Indexes are cached by content, and
+ * entering the same dataset again skips the sort.
  *
  * FLOWCHART:
  * ┌─────────────────┐
@@ -87,6 +97,8 @@ import java.util.Scanner;
  */
 
 public class BinarySearch {
+    private static final SortedIndexCache INDEXES = new SortedIndexCache(Runtime.getRuntime().maxMemory() / 8);
+
     public void run() {
         Scanner scanner = new Scanner(System.in);
         int n;
@@ -118,9 +130,9 @@ public class BinarySearch {
             }
         }
 
-        Arrays.sort(arr); // Binary search requires sorted input
+        SortedIndex sorted = INDEXES.get(arr); // Binary search requires sorted input
         System.out.println("Array sorted for binary search: ");
-        for (double num : arr) System.out.print(num + " ");
+        ResultWriter.print(sorted.sortedKeys());
         System.out.println();
 
         double key;
@@ -137,24 +149,11 @@ public class BinarySearch {
 
         long start = System.nanoTime();
 
-        int low = 0, high = n - 1, mid, index = -1;
-        
-        while (low <= high) {
-            mid = (low + high) / 2;
-            
-            if (Math.abs(arr[mid] - key) < 1e-9) {
-                index = mid;
-                break;
-            } else if (key < arr[mid]) {
-                high = mid - 1;
-            } else {
-                low = mid + 1;
-            }
-        }
+        int index = sorted.search(key);
 
         long end = System.nanoTime();
 
-        System.out.println(index == -1 ? "Key not found." : "Key found at index: " + index);
+        System.out.println(index == -1 ? "Key not found." : "Key found at index: " + index + " (as entered)");
         System.out.println("Theoretical Time Complexity: O(log n)");
         System.out.println("Empirical Running Time: " + (end - start) + " ns");
     }
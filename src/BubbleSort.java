@@ -1,3 +1,5 @@
+import engine.BubbleSorter;
+
 import java.util.Scanner;
 
 /**
@@ -5,6 +7,8 @@ import java.util.Scanner;
  *
  * DESCRIPTION:
  * Repeatedly steps through the list, compares adjacent elements, and swaps them if in the wrong order.
+ * The sorting kernel lives in engine.BubbleSorter; this class only handles
+ * console input and output.
  *
  * FLOWCHART:
  * ┌─────────────────┐
@@ -116,26 +120,11 @@ public class BubbleSort {
         }
 
         long start = System.nanoTime();
-
-        for (int i = 0; i < n - 1; i++) {
-            boolean swapped = false;
-            for (int j = 0; j < n - i - 1; j++) {
-                if (arr[j] > arr[j + 1]) {
-                    // Swap elements
-                    double temp = arr[j];
-                    arr[j] = arr[j + 1];
-                    arr[j + 1] = temp;
-                    swapped = true;
-                }
-            }
-            
-            if (!swapped) break; // Optimization: if no swaps, array is sorted
-        }
-
+        new BubbleSorter().sort(arr);
         long end = System.nanoTime();
 
         System.out.println("Sorted array:");
-        for (double num : arr) System.out.print(num + " ");
+        ResultWriter.print(arr);
         System.out.println("\nTime Complexity: O(n²)");
         System.out.println("Empirical Running Time: " + (end - start) + " ns");
     }
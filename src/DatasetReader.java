@@ -0,0 +1,227 @@
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Dataset Reader
+ *
+ * DESCRIPTION:
+ * Loads a text file of real numbers into a double[] without going through
+ * Scanner. The file is memory-mapped in windows of up to 256 MB and parsed
+ * byte by byte, so no String or boxed Double is created per element.
+ *
+ * FORMAT:
+ * - Numbers separated by whitespace, commas or semicolons
+ * - Plain or scientific notation: 42, -3.5, .25, 1e-3, 6.02E23
+ * - NaN and Infinity are accepted as well
+ *
+ * PARSING:
+ * Most values have a mantissa below 2^53 and a small exponent. For those the
+ * digits fit exactly in a double and the power of ten is exact, so one
+ * multiply or divide gives the correctly rounded result. Anything else
+ * (long mantissas, huge exponents, NaN, Infinity) falls back to
+ * Double.parseDouble, which is the only path that allocates.
+ *
+ * STREAMING:
+ * read(path, buffer, consumer) hands the values over in chunks instead of
+ * collecting them all, so files larger than the heap can be processed (see
+ * ExternalSorter). The consumer returns the array to fill next, which lets
+ * it keep working on the previous chunk while parsing continues.
+ *
+ * TIME COMPLEXITY: O(file size)
+ * SPACE COMPLEXITY: O(n) for the result array, O(chunk) when streaming
+ */
+
+public class DatasetReader {
+    private static final int WINDOW = 1 << 28;
+    // Digits that always fit in a long; further digits only scale the exponent
+    private static final int MAX_DIGITS = 18;
+    static final long MAX_EXACT_MANTISSA = 1L << 53;
+    static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+        1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * Receives the values of a streamed file one full chunk at a time.
+     */
+    public interface ChunkConsumer {
+        /**
+         * Takes chunk[0, length) and returns the (non-empty) array to fill
+         * next. The chunk may be returned again once it has been processed.
+         */
+        double[] accept(double[] chunk, int length) throws IOException;
+    }
+
+    private double[] values = new double[1024];
+    private int count;
+    private byte[] token = new byte[64];
+    private ChunkConsumer consumer;
+
+    public double[] read(Path path) throws IOException {
+        count = 0;
+        scan(path);
+        return Arrays.copyOf(values, count);
+    }
+
+    /**
+     * Parses the file into buffer and passes every full buffer, and the
+     * partly filled last one, to consumer.
+     */
+    public void read(Path path, double[] buffer, ChunkConsumer consumer) throws IOException {
+        if (buffer.length == 0) throw new IllegalArgumentException("Empty chunk buffer");
+        values = buffer;
+        count = 0;
+        this.consumer = consumer;
+        try {
+            scan(path);
+            if (count > 0) consumer.accept(values, count);
+        } finally {
+            this.consumer = null;
+            values = new double[1024];
+        }
+    }
+
+    private void scan(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+
+            while (position < size) {
+                int length = (int) Math.min(WINDOW, size - position);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+
+                // Stop at the last delimiter so no number is split across two windows
+                int limit = length;
+                if (position + length < size) {
+                    while (limit > 0 && !isDelimiter(buffer.get(limit - 1))) limit--;
+                    if (limit == 0) throw new IOException("Token longer than " + WINDOW + " bytes at offset " + position);
+                }
+
+                parse(buffer, limit, position);
+                position += limit;
+            }
+        }
+    }
+
+    private void parse(MappedByteBuffer buffer, int limit, long base) throws IOException {
+        int i = 0;
+
+        while (i < limit) {
+            // Skip separators
+            while (i < limit && isDelimiter(buffer.get(i))) i++;
+            if (i == limit) break;
+
+            int start = i;
+            boolean negative = false;
+            byte b = buffer.get(i);
+            if (b == '-' || b == '+') {
+                negative = b == '-';
+                i++;
+            }
+
+            long mantissa = 0;
+            int digits = 0;
+            int exponent = 0;
+            boolean sawDigit = false;
+
+            // Integer part
+            while (i < limit && (b = buffer.get(i)) >= '0' && b <= '9') {
+                if (mantissa != 0 || b != '0') {
+                    if (digits < MAX_DIGITS) mantissa = mantissa * 10 + (b - '0');
+                    else exponent++;
+                    digits++;
+                }
+                sawDigit = true;
+                i++;
+            }
+
+            // Fractional part
+            if (i < limit && buffer.get(i) == '.') {
+                i++;
+                while (i < limit && (b = buffer.get(i)) >= '0' && b <= '9') {
+                    if (mantissa != 0 || b != '0') {
+                        if (digits < MAX_DIGITS) {
+                            mantissa = mantissa * 10 + (b - '0');
+                            exponent--;
+                        }
+                        digits++;
+                    } else {
+                        exponent--;
+                    }
+                    sawDigit = true;
+                    i++;
+                }
+            }
+
+            // Exponent
+            if (sawDigit && i < limit && ((b = buffer.get(i)) == 'e' || b == 'E')) {
+                i++;
+                boolean negativeExponent = false;
+                if (i < limit && ((b = buffer.get(i)) == '-' || b == '+')) {
+                    negativeExponent = b == '-';
+                    i++;
+                }
+                int e = 0;
+                boolean sawExponentDigit = false;
+                while (i < limit && (b = buffer.get(i)) >= '0' && b <= '9') {
+                    if (e < 100000) e = e * 10 + (b - '0');
+                    sawExponentDigit = true;
+                    i++;
+                }
+                if (!sawExponentDigit) sawDigit = false;
+                exponent += negativeExponent ? -e : e;
+            }
+
+            double value;
+            if (sawDigit && (i == limit || isDelimiter(buffer.get(i)))) {
+                if (digits <= MAX_DIGITS && mantissa >= 0 && mantissa <= MAX_EXACT_MANTISSA && exponent >= -22 && exponent <= 22) {
+                    value = exponent < 0
+                            ? mantissa / POWERS_OF_TEN[-exponent]
+                            : mantissa * POWERS_OF_TEN[exponent];
+                    if (negative) value = -value;
+                } else {
+                    value = slowParse(buffer, start, i, base);
+                }
+            } else {
+                // Not a plain number (NaN, Infinity or garbage): read the whole token
+                while (i < limit && !isDelimiter(buffer.get(i))) i++;
+                value = slowParse(buffer, start, i, base);
+            }
+
+            add(value);
+        }
+    }
+
+    private double slowParse(MappedByteBuffer buffer, int start, int end, long base) throws IOException {
+        int length = end - start;
+        if (length > token.length) token = new byte[Math.max(length, token.length * 2)];
+        for (int k = 0; k < length; k++) token[k] = buffer.get(start + k);
+
+        String text = new String(token, 0, length, StandardCharsets.ISO_8859_1);
+        try {
+            return Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid number '" + text + "' at offset " + (base + start));
+        }
+    }
+
+    private void add(double value) throws IOException {
+        if (count == values.length && consumer != null) {
+            values = consumer.accept(values, count);
+            count = 0;
+        } else if (count == values.length) {
+            if (count == Integer.MAX_VALUE - 8) throw new IllegalStateException("Dataset too large for a single array");
+            values = Arrays.copyOf(values, (int) Math.min((long) count * 2, Integer.MAX_VALUE - 8));
+        }
+        values[count++] = value;
+    }
+
+    private static boolean isDelimiter(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == ',' || b == ';';
+    }
+}
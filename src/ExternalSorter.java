@@ -0,0 +1,460 @@
+import engine.SortUtils;
+import engine.Sorter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * External Sorter
+ *
+ * DESCRIPTION:
+ * Sorts a dataset file that is too large for the heap. Only a bounded number
+ * of values is in memory at any time; the rest lives in temporary run files
+ * on disk.
+ *
+ * PHASE 1 - RUNS:
+ * DatasetReader streams the input into one of two chunk buffers. When a chunk
+ * is full, a background thread sorts it with the in-memory engine and spills
+ * it to a binary run file (raw doubles in native byte order), while parsing
+ * carries on into the other buffer.
+ *
+ * PHASE 2 - MERGE:
+ * The runs are merged in one pass through a loser tree: a tournament tree
+ * whose inner nodes remember the loser of each match, so replacing the winner
+ * costs one comparison per level (log2 k for k runs). Each run is read through
+ * memory-mapped windows, and the window after the current one is mapped and
+ * loaded on a background thread, so the disk read overlaps the merge. The
+ * output is formatted into blocks (text by ResultWriter.format, or raw
+ * little-endian doubles) that are written on a background thread as well.
+ * With more than MAX_FAN_IN runs, groups of runs are first merged into
+ * larger runs.
+ *
+ * Ties go to the earlier run, just as MergeSorter's merge takes from the left
+ * half on ties, so a stable engine gives a stable external sort. NaN values
+ * are written last.
+ *
+ * MEMORY:
+ * memoryBytes covers the two chunk buffers. Engines that need scratch space
+ * (merge, radix) allocate up to one more chunk on top. The merge needs only
+ * small fixed buffers on the heap and reads the runs through the page cache.
+ *
+ * TIME COMPLEXITY: O(n log n)
+ * SPACE COMPLEXITY: O(memoryBytes) heap, O(n) disk in the spill directory
+ */
+
+public class ExternalSorter {
+    static final int MAX_FAN_IN = 512;
+    private static final int MIN_WINDOW = 1 << 20;
+    private static final int MAX_WINDOW = 1 << 26;
+    private static final int IO_BLOCK = 1 << 20;
+
+    private final Sorter sorter;
+    private final long memoryBytes;
+    private final Path spillDirectory;
+
+    /**
+     * @param sorter         in-memory engine used for the chunks
+     * @param memoryBytes    heap budget for the chunk buffers
+     * @param spillDirectory directory for the temporary run files
+     */
+    public ExternalSorter(Sorter sorter, long memoryBytes, Path spillDirectory) {
+        if (memoryBytes < 2 * Double.BYTES) throw new IllegalArgumentException("Memory budget too small: " + memoryBytes);
+        this.sorter = Objects.requireNonNull(sorter);
+        this.memoryBytes = memoryBytes;
+        this.spillDirectory = Objects.requireNonNull(spillDirectory);
+    }
+
+    /**
+     * Sorts the numbers in input and writes them to output, one per line.
+     *
+     * @return the number of values sorted
+     */
+    public long sort(Path input, Path output) throws IOException {
+        return sort(input, output, ResultWriter.Format.TEXT);
+    }
+
+    /**
+     * Sorts the numbers in input and writes them to output in the given
+     * format (see ResultWriter).
+     *
+     * @return the number of values sorted
+     */
+    public long sort(Path input, Path output, ResultWriter.Format format) throws IOException {
+        Path spill = Files.createTempDirectory(spillDirectory, "external-sort-");
+        ExecutorService io = Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "external-sort-io");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            List<Path> runs = createRuns(input, spill, io);
+            while (runs.size() > MAX_FAN_IN) {
+                runs = mergePass(runs, spill, io);
+            }
+            try (OutputSink sink = new OutputSink(output, format, io)) {
+                return merge(runs, sink, io);
+            }
+        } finally {
+            io.shutdownNow();
+            deleteSpill(spill);
+        }
+    }
+
+    private List<Path> createRuns(Path input, Path spill, ExecutorService io) throws IOException {
+        // Every value takes at least two bytes of text, which bounds the chunk for small inputs
+        long maxValues = Files.size(input) / 2 + 1;
+        int chunk = (int) Math.min(Integer.MAX_VALUE - 8, Math.min(maxValues, memoryBytes / (2 * Double.BYTES)));
+        RunSpiller spiller = new RunSpiller(new double[chunk], new double[chunk], spill, io);
+        new DatasetReader().read(input, spiller.first, spiller);
+        await(spiller.pending);
+        return spiller.runs;
+    }
+
+    /**
+     * Sorts and spills full chunks in the background, at most one at a time,
+     * and hands the parser whichever buffer is free.
+     */
+    private final class RunSpiller implements DatasetReader.ChunkConsumer {
+        private final double[] first, second;
+        private final Path spill;
+        private final ExecutorService io;
+        private final List<Path> runs = new ArrayList<>();
+        private Future<?> pending;
+
+        RunSpiller(double[] first, double[] second, Path spill, ExecutorService io) {
+            this.first = first;
+            this.second = second;
+            this.spill = spill;
+            this.io = io;
+        }
+
+        @Override
+        public double[] accept(double[] chunk, int length) throws IOException {
+            await(pending); // The other buffer is free once the previous run is on disk
+
+            Path run = spill.resolve("run-" + runs.size() + ".bin");
+            runs.add(run);
+            pending = io.submit(() -> {
+                // Not every engine moves NaNs (merge does not), and the merge needs them last
+                sorter.sort(chunk, 0, SortUtils.moveNaNsToEnd(chunk, 0, length));
+                try (RunWriter writer = new RunWriter(run)) {
+                    for (int i = 0; i < length; i++) writer.put(chunk[i]);
+                }
+                return null;
+            });
+
+            return chunk == first ? second : first;
+        }
+    }
+
+    /**
+     * Merges consecutive groups of MAX_FAN_IN runs into single runs, keeping
+     * their order so ties still resolve towards earlier input.
+     */
+    private List<Path> mergePass(List<Path> runs, Path spill, ExecutorService io) throws IOException {
+        List<Path> merged = new ArrayList<>();
+        for (int start = 0; start < runs.size(); start += MAX_FAN_IN) {
+            List<Path> group = runs.subList(start, Math.min(start + MAX_FAN_IN, runs.size()));
+            Path run = Files.createTempFile(spill, "merged-", ".bin");
+            try (RunWriter writer = new RunWriter(run)) {
+                merge(group, writer, io);
+            }
+            for (Path input : group) Files.delete(input);
+            merged.add(run);
+        }
+        return merged;
+    }
+
+    private long merge(List<Path> runs, DoubleSink sink, ExecutorService io) throws IOException {
+        int k = runs.size();
+        int window = (int) Math.max(MIN_WINDOW, Math.min(MAX_WINDOW, memoryBytes / (2L * Math.max(k, 1)))) & ~7;
+        RunReader[] readers = new RunReader[k];
+        try {
+            for (int i = 0; i < k; i++) readers[i] = new RunReader(runs.get(i), window, io);
+            if (k == 0) return 0;
+
+            LoserTree tree = new LoserTree(readers);
+            long count = 0;
+            for (int run; (run = tree.winner()) >= 0; count++) {
+                sink.put(tree.head(run));
+                tree.pop(run);
+            }
+            return count;
+        } finally {
+            for (RunReader reader : readers) {
+                if (reader != null) reader.close();
+            }
+        }
+    }
+
+    /**
+     * Tournament tree over k runs. tree[0] holds the run with the smallest
+     * head; tree[1, k) hold the losers of the matches below them, with the
+     * parent of node i at i / 2 and the leaf of run r at (r + k) / 2.
+     */
+    private static final class LoserTree {
+        private static final int SENTINEL = -1; // Beats everything while the tree is being built
+
+        private final RunReader[] runs;
+        private final double[] heads;
+        private final boolean[] exhausted;
+        private final int[] tree;
+        private final int k;
+
+        LoserTree(RunReader[] runs) throws IOException {
+            this.runs = runs;
+            this.k = runs.length;
+            this.heads = new double[k];
+            this.exhausted = new boolean[k];
+            this.tree = new int[k];
+
+            for (int r = 0; r < k; r++) load(r);
+            Arrays.fill(tree, SENTINEL);
+            for (int r = k - 1; r >= 0; r--) replay(r);
+        }
+
+        /** Run holding the smallest head, or -1 once every run is exhausted. */
+        int winner() {
+            int run = tree[0];
+            return exhausted[run] ? -1 : run;
+        }
+
+        double head(int run) {
+            return heads[run];
+        }
+
+        /** Moves run past its head and replays its path to the root. */
+        void pop(int run) throws IOException {
+            load(run);
+            replay(run);
+        }
+
+        private void load(int run) throws IOException {
+            if (runs[run].advance()) {
+                heads[run] = runs[run].head;
+            } else {
+                exhausted[run] = true;
+            }
+        }
+
+        private void replay(int run) {
+            int winner = run;
+            for (int node = (run + k) >>> 1; node > 0; node >>>= 1) {
+                int challenger = tree[node];
+                if (challenger == SENTINEL || (winner != SENTINEL && beats(challenger, winner))) {
+                    tree[node] = winner;
+                    winner = challenger;
+                }
+            }
+            tree[0] = winner;
+        }
+
+        /** Whether run a's head goes out before run b's. */
+        private boolean beats(int a, int b) {
+            if (exhausted[a]) return false;
+            if (exhausted[b]) return true;
+            return a < b ? before(heads[a], heads[b]) : !before(heads[b], heads[a]);
+        }
+
+        /** MergeSorter's "take the left one on ties" test, with NaN last. */
+        private static boolean before(double left, double right) {
+            return left <= right || right != right;
+        }
+    }
+
+    /**
+     * Sequential reader over a run file, one mapped window at a time, with
+     * the following window mapped and loaded in the background.
+     */
+    private static final class RunReader implements Closeable {
+        private final FileChannel channel;
+        private final long size;
+        private final int window;
+        private final ExecutorService io;
+        private long mapped;
+        private DoubleBuffer current = DoubleBuffer.allocate(0);
+        private Future<MappedByteBuffer> next;
+        double head;
+
+        RunReader(Path run, int window, ExecutorService io) throws IOException {
+            this.channel = FileChannel.open(run, StandardOpenOption.READ);
+            this.size = channel.size();
+            this.window = window;
+            this.io = io;
+            this.next = prefetch();
+        }
+
+        /** Reads the next value into head; returns false at the end of the run. */
+        boolean advance() throws IOException {
+            if (!current.hasRemaining()) {
+                if (next == null) return false;
+                current = await(next).order(ByteOrder.nativeOrder()).asDoubleBuffer();
+                next = prefetch();
+                if (!current.hasRemaining()) return false;
+            }
+            head = current.get();
+            return true;
+        }
+
+        private Future<MappedByteBuffer> prefetch() {
+            if (mapped == size) return null;
+            long position = mapped;
+            int length = (int) Math.min(window, size - position);
+            mapped += length;
+            return io.submit(() -> {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                buffer.load(); // Touch the pages now, off the merging thread
+                return buffer;
+            });
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    private interface DoubleSink extends Closeable {
+        void put(double value) throws IOException;
+    }
+
+    /** Writes raw doubles in native byte order. */
+    private static final class RunWriter implements DoubleSink {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(IO_BLOCK).order(ByteOrder.nativeOrder());
+
+        RunWriter(Path run) throws IOException {
+            this.channel = FileChannel.open(run, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE);
+        }
+
+        @Override
+        public void put(double value) throws IOException {
+            if (!buffer.hasRemaining()) flush();
+            buffer.putDouble(value);
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) channel.write(buffer);
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Writes one value per line, or raw doubles. Full blocks are written in
+     * the background while the next block is filled.
+     */
+    private static final class OutputSink implements DoubleSink {
+        private final FileChannel channel;
+        private final boolean binary;
+        private final ExecutorService io;
+        private byte[] block = new byte[IO_BLOCK];
+        private byte[] spare = new byte[IO_BLOCK];
+        private int length;
+        private Future<?> pending;
+
+        OutputSink(Path output, ResultWriter.Format format, ExecutorService io) throws IOException {
+            this.channel = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE);
+            this.binary = format == ResultWriter.Format.BINARY;
+            this.io = io;
+        }
+
+        @Override
+        public void put(double value) throws IOException {
+            if (length + ResultWriter.MAX_LENGTH + 1 > block.length) flush();
+            if (binary) {
+                length = ResultWriter.encode(value, block, length);
+            } else {
+                length = ResultWriter.format(value, block, length);
+                block[length++] = '\n';
+            }
+        }
+
+        private void flush() throws IOException {
+            await(pending); // The spare block is free once the previous write is done
+            byte[] full = block;
+            int count = length;
+            pending = io.submit(() -> {
+                ByteBuffer buffer = ByteBuffer.wrap(full, 0, count);
+                while (buffer.hasRemaining()) channel.write(buffer);
+                return null;
+            });
+            block = spare;
+            spare = full;
+            length = 0;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+                await(pending);
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Waits for a background task and rethrows its failure as an IOException.
+     */
+    private static <T> T await(Future<T> task) throws IOException {
+        if (task == null) return null;
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for background I/O");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) throw (IOException) cause;
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new IOException(cause);
+        }
+    }
+
+    private static void deleteSpill(Path spill) {
+        // Best effort: a failed cleanup must not hide the sort's own result or error
+        try (Stream<Path> files = Files.list(spill)) {
+            files.forEach(file -> {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException ignored) {
+                }
+            });
+            Files.deleteIfExists(spill);
+        } catch (IOException ignored) {
+        }
+    }
+}
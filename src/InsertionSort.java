@@ -1,3 +1,5 @@
+import engine.InsertionSorter;
+
 import java.util.Scanner;
 
 /**
@@ -5,6 +7,8 @@ import java.util.Scanner;
  *
  * DESCRIPTION:
  * Builds the sorted array one item at a time, by inserting each element into its correct position.
+ * The sorting kernel lives in engine.InsertionSorter; this class only handles
+ * console input and output.
  *
  * FLOWCHART:
  * ┌─────────────────┐
@@ -109,27 +113,11 @@ public class InsertionSort {
 
         // Start the sorting process
         long start = System.nanoTime();
-
-        for (int i = 1; i < n; i++) {
-            double key = arr[i];
-            // Set the key (current element) and initialize position j for comparison
-            int j = i - 1;
-            
-            // Shift elements larger than key one position to the right
-            while (j >= 0 && arr[j] > key) {
-                // Move element one position right
-                arr[j + 1] = arr[j];
-                j--;
-            }
-            
-            // Insert the key at its correct position
-            arr[j + 1] = key;
-        }
-
+        new InsertionSorter().sort(arr);
         long end = System.nanoTime();
 
         System.out.println("Sorted array:");
-        for (double num : arr) System.out.print(num + " ");
+        ResultWriter.print(arr);
         System.out.println("\nTime Complexity: O(n²)");
         System.out.println("Empirical Running Time: " + (end - start) + " ns");
     }
@@ -1,3 +1,5 @@
+import engine.LinearSearcher;
+
 import java.util.Scanner;
 
 /**
@@ -6,6 +8,8 @@ import java.util.Scanner;
  * DESCRIPTION:
  * Searches for a given key in an unsorted array by checking each element one by one.
  * Returns the index of the first match or -1 if not found.
+ * The searching kernel lives in engine.LinearSearcher; this class only handles
+ * console input and output.
  *
  * FLOWCHART:
  * ┌─────────────────┐
@@ -124,13 +128,7 @@ public class LinearSearch {
         long startTime = System.nanoTime();
 
         // Linear Search logic
-        int index = -1;
-        for (int i = 0; i < n; i++) {
-            if (Math.abs(array[i] - key) < 1e-9) {
-                index = i;
-                break;
-            }
-        }
+        int index = new LinearSearcher().search(array, key);
 
         // End timing
         long endTime = System.nanoTime();
@@ -1,3 +1,5 @@
+import engine.Metrics;
+
 import java.util.Scanner;
 
 /**
@@ -18,10 +20,22 @@ import java.util.Scanner;
  * - Input validation and error handling
  * - Performance timing measurements
  * - Optional step-by-step visualization for educational purposes
+ * - Headless batch mode: pass an algorithm and dataset files on the command
+ *   line to skip the menu (see BatchRunner)
+ * - Operation counters: run with -Dengine.metrics=true to print the
+ *   comparisons, swaps, moves, allocations and recursion depth of each run
+ *   (see engine.Metrics)
  */
 
 public class Main {
     public static void main(String[] args) {
+        Metrics.init(); // Registers the MXBean now, not inside the first timed run
+        if (args.length > 0) {
+            int status = new BatchRunner(args).run();
+            if (Metrics.ENABLED) System.err.print(Metrics.dump());
+            System.exit(status);
+        }
+
         Scanner scanner = new Scanner(System.in);
 
         while (true) {
@@ -46,6 +60,8 @@ public class Main {
                 continue;
             }
 
+            if (Metrics.ENABLED) Metrics.reset();
+
             switch (choice) {
                 case 0:
                     System.out.println("Exiting the application.");
@@ -73,6 +89,12 @@ public class Main {
                     break;
                 default:
                     System.out.println("Invalid selection. Please choose a number between 0 and 7.");
+                    continue;
+            }
+
+            if (Metrics.ENABLED) {
+                System.out.println("\nOperation counts:");
+                System.out.print(Metrics.dump());
             }
         }
     }
@@ -1,3 +1,5 @@
+import engine.MergeSorter;
+
 import java.util.Scanner;
 
 /**
@@ -5,6 +7,8 @@ import java.util.Scanner;
  *
  * DESCRIPTION:
  * Recursively splits the array in half, sorts each half, then merges the sorted halves.
+ * The sorting kernel lives in engine.MergeSorter; this class only handles
+ * console input and output.
  *
  * FLOWCHART:
  * ┌─────────────────┐
@@ -130,59 +134,12 @@ public class MergeSort {
 
         // Start sorting process
         long start = System.nanoTime();
-        mergeSort(arr, 0, n - 1);
+        new MergeSorter().sort(arr);
         long end = System.nanoTime();
 
         System.out.println("Sorted array:");
-        for (double num : arr) System.out.print(num + " ");
+        ResultWriter.print(arr);
         System.out.println("\nTime Complexity: O(n log n)");
         System.out.println("Empirical Running Time: " + (end - start) + " ns");
     }
-
-    private void mergeSort(double[] arr, int left, int right) {
-        // Base case: if left < right, divide the array
-        if (left < right) {
-            // Find the middle point to divide the array into two halves
-            int mid = (left + right) / 2;
-            
-            // Recursively sort both halves
-            mergeSort(arr, left, mid);
-            mergeSort(arr, mid + 1, right);
-            
-            // Merge the sorted halves
-            merge(arr, left, mid, right);
-        }
-    }
-
-    private void merge(double[] arr, int left, int mid, int right) {
-        int n1 = mid - left + 1;
-        int n2 = right - mid;
-        double[] L = new double[n1];
-        double[] R = new double[n2];
-
-        // Copy data to temporary arrays
-        System.arraycopy(arr, left, L, 0, n1);
-        System.arraycopy(arr, mid + 1, R, 0, n2);
-
-        // Initial indexes of first and second subarrays, and merged subarray
-        int i = 0, j = 0, k = left;
-
-        // Merge the temporary arrays back into arr[left..right]
-        while (i < n1 && j < n2) {
-            if (L[i] <= R[j]) {
-                arr[k++] = L[i++];
-            } else {
-                arr[k++] = R[j++];
-            }
-        }
-
-        // Copy the remaining elements of L[], if any
-        while (i < n1) {
-            arr[k++] = L[i++];
-        }
-        // Copy the remaining elements of R[], if any
-        while (j < n2) {
-            arr[k++] = R[j++];
-        }
-    }
 }
@@ -1,3 +1,5 @@
+import engine.IntroSorter;
+
 import java.util.Scanner;
 
 /**
@@ -6,6 +8,15 @@ import java.util.Scanner;
  * DESCRIPTION:
  * Selects a pivot and partitions the array so that elements < pivot go left, > pivot go right.
  * Recursively sorts left and right subarrays.
+ * The sorting kernel lives in engine.IntroSorter; this class only handles
+ * console input and output.
+ *
+ * The flowchart and pseudocode below show the basic algorithm. The engine
+ * adds the refinements that make it safe on any input:
+ * - median-of-three / ninther pivot instead of always the last element
+ * - recursion on the smaller side only, looping on the larger one
+ * - insertion sort for small partitions
+ * - heap sort fallback when recursion gets too deep
  *
  * FLOWCHART:
  * ┌─────────────────┐
@@ -130,7 +141,8 @@ import java.util.Scanner;
  *         quickSort(A, low, pi - 1)
  *         quickSort(A, pi + 1, high)
  *
- * TIME COMPLEXITY: O(n log n) average, O(n²) worst
+ * TIME COMPLEXITY: O(n log n) average, O(n²) worst for the basic algorithm;
+ *                  O(n log n) worst with the engine's refinements
  * SPACE COMPLEXITY: O(log n)
  */
 
@@ -162,49 +174,12 @@ public class QuickSort {
 
         // Start sorting process
         long start = System.nanoTime();
-        quickSort(arr, 0, n - 1);
+        new IntroSorter().sort(arr);
         long end = System.nanoTime();
 
         System.out.println("Sorted array:");
-        for (double num : arr) System.out.print(num + " ");
-        System.out.println("\nTime Complexity: O(n log n) average, O(n²) worst");
+        ResultWriter.print(arr);
+        System.out.println("\nTime Complexity: O(n log n)");
         System.out.println("Empirical Running Time: " + (end - start) + " ns");
     }
-
-    private void quickSort(double[] arr, int low, int high) {
-        // Base case: if low < high, partition and recursively sort
-        if (low < high) {
-            // Partition the array and get the pivot index
-            int pi = partition(arr, low, high);
-            
-            // Recursively sort elements before and after partition
-            quickSort(arr, low, pi - 1);
-            quickSort(arr, pi + 1, high);
-        }
-    }
-
-    private int partition(double[] arr, int low, int high) {
-        // Choose the rightmost element as pivot
-        double pivot = arr[high];
-        int i = low - 1; // Index of smaller element
-
-        // Traverse through all elements
-        for (int j = low; j < high; j++) {
-            // If current element is smaller than or equal to pivot
-            if (arr[j] < pivot) {
-                i++; // increment index of smaller element
-                // Swap elements
-                double temp = arr[i]; 
-                arr[i] = arr[j]; 
-                arr[j] = temp;
-            }
-        }
-
-        // Place pivot in correct position
-        double temp = arr[i + 1]; 
-        arr[i + 1] = arr[high]; 
-        arr[high] = temp;
-        
-        return i + 1;
-    }
 }
@@ -0,0 +1,439 @@
+import java.io.Closeable;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * Result Writer
+ *
+ * DESCRIPTION:
+ * Output counterpart of DatasetReader. Printing a result with
+ * System.out.print(num + " ") builds two Strings per value and pushes them
+ * through the PrintStream's character encoder, so for millions of values the
+ * output takes far longer than the sort. This writer formats straight into
+ * one reusable byte block and hands full blocks to a channel.
+ *
+ * FORMATS:
+ * - TEXT: each value in decimal, followed by the separator (a space on the
+ *   console, a newline in files). DatasetReader reads the output back to the
+ *   identical doubles.
+ * - BINARY: each value as its 8 IEEE 754 bytes, little-endian, with no
+ *   header or separator: n values are exactly 8n bytes. Downstream jobs read
+ *   it with e.g. numpy.fromfile(path, "<f8") or a mapped DoubleBuffer.
+ *
+ * FORMATTING:
+ * Each value is written as the shortest decimal that parses back to exactly
+ * the same double; when several decimals of that length do, the one nearest
+ * the value wins. The digits come from the Schubfach algorithm (R. Giulietti,
+ * "The Schubfach way to render doubles", 2020, also used by Double.toString
+ * from JDK 19 on): the value's rounding interval is scaled by a 126-bit power
+ * of ten so that it spans about 17 decimal digits, then one candidate with a
+ * digit less and the two 17-digit neighbours are tested against its ends.
+ * Values with at most SHORT_DIGITS fraction digits, such as counts and
+ * prices, are recognised first with a cheaper check: the integer m nearest
+ * to v * 10^d is accepted when m / 10^d == v. Below 2^52 that division
+ * is correctly rounded and v's rounding interval, scaled by 10^d, is
+ * narrower than 1, so m is the only candidate and the check proves it.
+ *
+ * From 1e-3 up to 1e16 the text is plain decimal with at least one fraction
+ * digit (10000000.0 rather than 1.0E7); outside that range it uses E
+ * notation as Double.toString does (1.0E-4, 1.0E16). Below 1e7 the text is
+ * the same as Double.toString's, except where JDK 17 and older print more
+ * digits than needed. NaN and the infinities are copied from constant byte
+ * tables, so format() allocates nothing.
+ *
+ * Not thread-safe.
+ *
+ * TIME COMPLEXITY: O(n)
+ * SPACE COMPLEXITY: O(BLOCK)
+ */
+
+public final class ResultWriter implements Closeable, Flushable {
+    /** Longest text format() produces for one value. */
+    static final int MAX_LENGTH = 32;
+    static final int BLOCK = 1 << 20;
+    // Fraction digits tried one by one before the shortest-digit search
+    static final int SHORT_DIGITS = 3;
+    private static final double SHORT_LIMIT = 1L << 52;
+
+    private static final long[] LONG_POWERS_OF_TEN = {
+        1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L, 100000000L, 1000000000L,
+        10000000000L, 100000000000L, 1000000000000L, 10000000000000L, 100000000000000L, 1000000000000000L,
+        10000000000000000L, 100000000000000000L, 1000000000000000000L
+    };
+    private static final byte[] NAN = "NaN".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] INFINITY = "Infinity".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NEGATIVE_INFINITY = "-Infinity".getBytes(StandardCharsets.US_ASCII);
+
+    // Binary exponent of the subnormals and smallest significand of the normal doubles
+    private static final int Q_MIN = -1074;
+    private static final long C_MIN = 1L << 52;
+    // Significands below C_TINY (the two smallest subnormals) need one more digit of room
+    private static final long C_TINY = 3;
+    // Range of the decimal exponent k the digit search scales by 10^-k
+    private static final int K_MIN = -324;
+    private static final int K_MAX = 292;
+    private static final long MASK_63 = (1L << 63) - 1;
+    /*
+     * For each k in [K_MIN, K_MAX], g = floor(10^-k * 2^(125 - floor(log2(10^-k)))) + 1,
+     * a 126-bit number just above 10^-k scaled into [2^125, 2^126), stored as
+     * its high and low 63 bits at index 2(k - K_MIN).
+     */
+    private static final long[] SCALED_POWERS_OF_TEN = scaledPowersOfTen();
+    private static final VarHandle DOUBLE_LE = MethodHandles.byteArrayViewVarHandle(double[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static ResultWriter console;
+
+    public enum Format { TEXT, BINARY }
+
+    private final WritableByteChannel channel;
+    private final boolean ownsChannel;
+    private final Format format;
+    private final byte separator;
+    private final byte[] block = new byte[BLOCK];
+    private int length;
+
+    private ResultWriter(WritableByteChannel channel, boolean ownsChannel, Format format, byte separator) {
+        this.channel = channel;
+        this.ownsChannel = ownsChannel;
+        this.format = Objects.requireNonNull(format);
+        this.separator = separator;
+    }
+
+    /**
+     * @return the shared writer for System.out: text, space separated. Its
+     *         block is reused by every run; close() only flushes.
+     */
+    public static ResultWriter console() {
+        if (console == null) console = new ResultWriter(Channels.newChannel(System.out), false, Format.TEXT, (byte) ' ');
+        return console;
+    }
+
+    /**
+     * Prints arr to System.out, each value followed by a space, through the
+     * console writer. PrintStream reports no IOExceptions, so neither does
+     * this.
+     */
+    public static void print(double[] arr) {
+        ResultWriter out = console();
+        try {
+            out.write(arr);
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Creates or truncates file and writes to it through a FileChannel. Text
+     * output has one value per line.
+     */
+    public static ResultWriter open(Path file, Format format) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+        return new ResultWriter(channel, true, format, (byte) '\n');
+    }
+
+    /**
+     * Writes to the process's standard output through a FileChannel on its
+     * file descriptor, bypassing System.out, so the output can be piped to
+     * another program. Nothing else should print to System.out meanwhile.
+     * Text output has one value per line; close() only flushes.
+     */
+    public static ResultWriter standardOutput(Format format) {
+        FileChannel channel = new FileOutputStream(FileDescriptor.out).getChannel();
+        return new ResultWriter(channel, false, format, (byte) '\n');
+    }
+
+    /**
+     * Writes to channel, which the caller keeps and closes. Text output has
+     * one value per line; close() only flushes.
+     */
+    public static ResultWriter of(WritableByteChannel channel, Format format) {
+        return new ResultWriter(Objects.requireNonNull(channel), false, format, (byte) '\n');
+    }
+
+    public void write(double value) throws IOException {
+        if (length + MAX_LENGTH + 1 > block.length) flush();
+        if (format == Format.BINARY) {
+            length = encode(value, block, length);
+        } else {
+            length = format(value, block, length);
+            block[length++] = separator;
+        }
+    }
+
+    /**
+     * Writes arr[from, to) in order.
+     *
+     * @throws IndexOutOfBoundsException if the range is not inside the array
+     */
+    public void write(double[] arr, int from, int to) throws IOException {
+        Objects.checkFromToIndex(from, to, arr.length);
+        for (int i = from; i < to; i++) write(arr[i]);
+    }
+
+    public void write(double[] arr) throws IOException {
+        write(arr, 0, arr.length);
+    }
+
+    /**
+     * Writes everything buffered so far to the channel.
+     */
+    @Override
+    public void flush() throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(block, 0, length);
+        while (buffer.hasRemaining()) channel.write(buffer);
+        length = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            if (ownsChannel) channel.close();
+        }
+    }
+
+    /**
+     * Stores the 8 bytes of value, little-endian, at dst[pos].
+     *
+     * @return the position after them
+     */
+    static int encode(double value, byte[] dst, int pos) {
+        DOUBLE_LE.set(dst, pos, value);
+        return pos + Double.BYTES;
+    }
+
+    /**
+     * Writes value as ASCII text at dst[pos], which needs room for
+     * MAX_LENGTH bytes.
+     *
+     * @return the position after the text
+     */
+    static int format(double value, byte[] dst, int pos) {
+        long bits = Double.doubleToRawLongBits(value);
+        double magnitude = Math.abs(value);
+        if (magnitude == 0) return fixedPoint(bits < 0, 0, 1, dst, pos);
+        if (!(magnitude <= Double.MAX_VALUE)) {
+            return copy(value != value ? NAN : value > 0 ? INFINITY : NEGATIVE_INFINITY, dst, pos);
+        }
+
+        if (magnitude >= 1e-3 && magnitude < SHORT_LIMIT) {
+            // Short values such as counts and prices first
+            for (int digits = 1; digits <= SHORT_DIGITS; digits++) {
+                long scaled = roundTrip(magnitude, digits);
+                if (scaled >= 0) return fixedPoint(value < 0, scaled, digits, dst, pos);
+            }
+        }
+
+        if (bits < 0) dst[pos++] = '-';
+        int exponentBits = (int) (bits >>> 52) & 0x7FF;
+        long fraction = bits & (C_MIN - 1);
+        if (exponentBits == 0) {
+            // Subnormal: search with 10 times the significand, then take one off the exponent
+            return fraction < C_TINY ? shortest(Q_MIN, 10 * fraction, -1, dst, pos) : shortest(Q_MIN, fraction, 0, dst, pos);
+        }
+        return shortest(exponentBits + Q_MIN - 1, C_MIN | fraction, 0, dst, pos);
+    }
+
+    private static int copy(byte[] text, byte[] dst, int pos) {
+        System.arraycopy(text, 0, dst, pos, text.length);
+        return pos + text.length;
+    }
+
+    /**
+     * @return m if the integer m nearest to magnitude * 10^digits satisfies
+     *         m / 10^digits == magnitude (so m's digits parse back exactly),
+     *         otherwise -1
+     */
+    private static long roundTrip(double magnitude, int digits) {
+        double power = DatasetReader.POWERS_OF_TEN[digits];
+        double product = magnitude * power;
+        // Above 2^52 two neighbouring m could both pass; leave those to shortest()
+        if (product >= SHORT_LIMIT) return -1;
+        // Any nearby integer will do as a candidate: the division checks it
+        long scaled = (long) (product + 0.5);
+        return scaled / power == magnitude ? scaled : -1;
+    }
+
+    /**
+     * Writes the shortest decimal that parses back to c * 2^q, scaled by
+     * 10^dk. The rounding interval around the value, with both ends if c is
+     * even (ties round to even), is multiplied by 10^-k for the k that leaves
+     * about 17 digits before the point; all three products carry two extra
+     * low bits and round to odd, which keeps the comparisons below exact.
+     */
+    private static int shortest(int q, long c, int dk, byte[] dst, int pos) {
+        int out = (int) c & 1; // An odd c excludes the interval's ends
+        long cb = c << 2;
+        long cbr = cb + 2;
+        long cbl;
+        int k;
+        if (c != C_MIN || q == Q_MIN) {
+            cbl = cb - 2;
+            k = floorLog10Pow2(q);
+        } else {
+            // At a power of two the gap below is half the gap above
+            cbl = cb - 1;
+            k = floorLog10ThreeQuartersPow2(q);
+        }
+        int h = q + floorLog2Pow10(-k) + 2;
+        int index = (k - K_MIN) << 1;
+        long g1 = SCALED_POWERS_OF_TEN[index];
+        long g0 = SCALED_POWERS_OF_TEN[index + 1];
+        long vb = multiplyRoundOdd(g1, g0, cb << h);
+        long vbl = multiplyRoundOdd(g1, g0, cbl << h);
+        long vbr = multiplyRoundOdd(g1, g0, cbr << h);
+
+        // The value times 10^-k lies between s and s + 1
+        long s = vb >> 2;
+        if (s >= 100) {
+            // A multiple of ten inside the interval has one digit less than s
+            long sp10 = s / 10 * 10;
+            long tp10 = sp10 + 10;
+            boolean upin = vbl + out <= sp10 << 2;
+            boolean wpin = (tp10 << 2) + out <= vbr;
+            if (upin != wpin) return decimal(upin ? sp10 : tp10, k + dk, dst, pos);
+        }
+        long t = s + 1;
+        boolean uin = vbl + out <= s << 2;
+        boolean win = (t << 2) + out <= vbr;
+        if (uin != win) return decimal(uin ? s : t, k + dk, dst, pos);
+        // Both inside: the nearer one, s on a tie if it is even
+        long cmp = vb - ((s + t) << 1);
+        return decimal(cmp < 0 || cmp == 0 && (s & 1) == 0 ? s : t, k + dk, dst, pos);
+    }
+
+    /**
+     * @return the 2 extra bits and up of g * cp / 2^127, where g is the
+     *         126-bit g1 * 2^63 + g0, with the lowest bit set if any bit
+     *         below them is (rounding to odd)
+     */
+    private static long multiplyRoundOdd(long g1, long g0, long cp) {
+        long x1 = Math.multiplyHigh(g0, cp);
+        long y0 = g1 * cp;
+        long y1 = Math.multiplyHigh(g1, cp);
+        long z = (y0 >>> 1) + x1;
+        long vbp = y1 + (z >>> 63);
+        return vbp | ((z & MASK_63) + MASK_63) >>> 63;
+    }
+
+    /**
+     * Writes f * 10^e, f > 0, in plain notation from 1e-3 up to 1e16 and in
+     * E notation outside.
+     */
+    private static int decimal(long f, int e, byte[] dst, int pos) {
+        while (f % 10 == 0) {
+            f /= 10;
+            e++;
+        }
+        int length = 1;
+        while (length < LONG_POWERS_OF_TEN.length && f >= LONG_POWERS_OF_TEN[length]) length++;
+        int exponent = e + length - 1; // Of the leading digit
+
+        if (exponent >= -3 && exponent < 16) {
+            return e >= 0
+                    ? fixedPoint(false, f * LONG_POWERS_OF_TEN[e + 1], 1, dst, pos)
+                    : fixedPoint(false, f, -e, dst, pos);
+        }
+
+        // d.ddd with at least one fraction digit, then E and the exponent
+        int end = pos + Math.max(length, 2) + 1;
+        int p = end;
+        if (length == 1) dst[--p] = '0';
+        for (int i = 1; i < length; i++) {
+            dst[--p] = (byte) ('0' + f % 10);
+            f /= 10;
+        }
+        dst[--p] = '.';
+        dst[--p] = (byte) ('0' + f);
+
+        pos = end;
+        dst[pos++] = 'E';
+        if (exponent < 0) {
+            dst[pos++] = '-';
+            exponent = -exponent;
+        }
+        if (exponent >= 100) dst[pos++] = (byte) ('0' + exponent / 100);
+        if (exponent >= 10) dst[pos++] = (byte) ('0' + exponent / 10 % 10);
+        dst[pos++] = (byte) ('0' + exponent % 10);
+        return pos;
+    }
+
+    /**
+     * Writes (-)scaled / 10^digits with exactly digits fraction digits.
+     */
+    private static int fixedPoint(boolean negative, long scaled, int digits, byte[] dst, int pos) {
+        if (negative) dst[pos++] = '-';
+        // scaled < 10^17, so with 19 or more fraction digits the integer part is 0
+        long integer = digits < LONG_POWERS_OF_TEN.length ? scaled / LONG_POWERS_OF_TEN[digits] : 0;
+        int integerDigits = 1;
+        while (integer >= 10) {
+            integer /= 10;
+            integerDigits++;
+        }
+
+        int end = pos + integerDigits + 1 + digits;
+        int p = end;
+        for (int i = 0; i < digits; i++) {
+            dst[--p] = (byte) ('0' + scaled % 10);
+            scaled /= 10;
+        }
+        dst[--p] = '.';
+        do {
+            dst[--p] = (byte) ('0' + scaled % 10);
+            scaled /= 10;
+        } while (scaled > 0);
+        return end;
+    }
+
+    /** floor(e * log10(2)) for |e| <= 5456721 */
+    static int floorLog10Pow2(int e) {
+        return (int) (e * 661_971_961_083L >> 41);
+    }
+
+    /** floor(e * log10(2) + log10(3/4)) for |e| <= 5456721 */
+    static int floorLog10ThreeQuartersPow2(int e) {
+        return (int) (e * 661_971_961_083L - 274_743_187_321L >> 41);
+    }
+
+    /** floor(e * log2(10)) for |e| <= 1838394 */
+    static int floorLog2Pow10(int e) {
+        return (int) (e * 913_124_641_741L >> 38);
+    }
+
+    /**
+     * Builds SCALED_POWERS_OF_TEN once, exactly, with BigInteger.
+     */
+    private static long[] scaledPowersOfTen() {
+        long[] table = new long[(K_MAX - K_MIN + 1) * 2];
+        for (int k = K_MIN; k <= K_MAX; k++) {
+            int e = -k;
+            int shift = 125 - floorLog2Pow10(e);
+            BigInteger power = BigInteger.TEN.pow(Math.abs(e));
+            BigInteger beta;
+            if (e < 0) beta = BigInteger.ONE.shiftLeft(shift).divide(power);
+            else beta = shift >= 0 ? power.shiftLeft(shift) : power.shiftRight(-shift);
+            BigInteger g = beta.add(BigInteger.ONE);
+            table[(k - K_MIN) << 1] = g.shiftRight(63).longValue();
+            table[((k - K_MIN) << 1) + 1] = g.longValue() & MASK_63;
+        }
+        return table;
+    }
+}
@@ -1,3 +1,5 @@
+import engine.SelectionSorter;
+
 import java.util.Scanner;
 
 /**
@@ -5,6 +7,8 @@ import java.util.Scanner;
  *
  * DESCRIPTION:
  * Repeatedly finds the minimum element from the unsorted part and moves it to the sorted part.
+ * The sorting kernel lives in engine.SelectionSorter; this class only handles
+ * console input and output.
  *
  * FLOWCHART:
  * ┌─────────────────┐
@@ -113,26 +117,11 @@ public class SelectionSort {
         }
 
         long start = System.nanoTime();
-
-        for (int i = 0; i < n - 1; i++) {
-            int min = i;
-            
-            for (int j = i + 1; j < n; j++) {
-                if (arr[j] < arr[min]) {
-                    min = j;
-                }
-            }
-            
-            // Swap elements
-            double temp = arr[i];
-            arr[i] = arr[min];
-            arr[min] = temp;
-        }
-
+        new SelectionSorter().sort(arr);
         long end = System.nanoTime();
 
         System.out.println("Sorted array:");
-        for (double num : arr) System.out.print(num + " ");
+        ResultWriter.print(arr);
         System.out.println("\nTime Complexity: O(n²)");
         System.out.println("Empirical Running Time: " + (end - start) + " ns");
     }
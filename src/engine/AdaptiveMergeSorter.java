@@ -0,0 +1,308 @@
+package engine;
+
+import java.util.Objects;
+
+/**
+ * ENGINE: Adaptive Merge Sort (natural runs, power-ordered merges)
+ *
+ * DESCRIPTION:
+ * Merge sort that follows the structure already present in the input instead
+ * of always splitting in half:
+ *
+ * 1. Scan for natural runs. Non-descending runs are kept, strictly
+ *    descending runs are reversed in place. A run shorter than MIN_RUN is
+ *    extended to MIN_RUN elements with insertion sort.
+ * 2. Decide the merge order with the "power" of each boundary between two
+ *    neighbouring runs (Munro and Wild's Powersort rule): map the midpoints
+ *    of both runs into [0, 1) and take the first binary digit in which they
+ *    differ. A boundary with a small power lies near the middle of the
+ *    range, so it is merged last, just as in a top-down merge sort over
+ *    the same runs. Runs wait on a stack until a boundary of lower power
+ *    arrives; the stack never holds more than one run per power.
+ * 3. Each merge skips the elements already in place at both ends, copies
+ *    the shorter run into the scratch buffer and merges from the side the
+ *    copy left free. After GALLOP wins in a row for one run, the merge looks
+ *    ahead with an exponential search and moves the whole winning stretch
+ *    with one System.arraycopy.
+ *
+ * The scratch buffer is allocated once per sort (half the range) and reused by
+ * every merge, so no garbage is created per merge. Input that is already
+ * sorted, reversed or made of a few sorted pieces is finished in close to
+ * linear time.
+ *
+ * NaN values are moved to the end of the range before sorting, as
+ * java.util.Arrays.sort does. Equal elements keep their relative order.
+ *
+ * TIME COMPLEXITY: O(n) best (presorted), O(n log n) worst, O(n + n H) for
+ *                  runs of lengths with entropy H
+ * SPACE COMPLEXITY: O(n)
+ */
+public class AdaptiveMergeSorter implements Sorter {
+    static final int MIN_RUN = 32;
+    static final int GALLOP = 8;
+    // Powers on the stack strictly increase and lie between 1 and 31
+    private static final int MAX_STACK = 34;
+
+    @Override
+    public void sort(double[] arr, int from, int to) {
+        Objects.checkFromToIndex(from, to, arr.length);
+
+        to = SortUtils.moveNaNsToEnd(arr, from, to);
+        int n = to - from;
+        if (n < 2) return;
+
+        if (Metrics.ENABLED) Metrics.begin("adaptive-merge");
+        if (n <= 2 * MIN_RUN) {
+            SortUtils.insertionSort(arr, from, to);
+        } else {
+            new Merger(arr, from, to).run();
+        }
+        if (Metrics.ENABLED) Metrics.end();
+    }
+
+    /**
+     * Returns the end of the run starting at lo, reversing it first if it
+     * is strictly descending ("strictly" so that equal elements never swap
+     * places).
+     */
+    private static int runEnd(double[] arr, int lo, int hi) {
+        int end = lo + 1;
+        if (end == hi) return end;
+
+        if (arr[end] < arr[lo]) {
+            while (end < hi && arr[end] < arr[end - 1]) end++;
+            reverse(arr, lo, end);
+        } else {
+            while (end < hi && arr[end] >= arr[end - 1]) end++;
+        }
+        return end;
+    }
+
+    private static void reverse(double[] arr, int lo, int hi) {
+        for (hi--; lo < hi; lo++, hi--) {
+            double temp = arr[lo];
+            arr[lo] = arr[hi];
+            arr[hi] = temp;
+        }
+    }
+
+    /**
+     * Power of the boundary between the runs [left, middle) and [middle,
+     * right) of the range [from, to): the number of leading binary digits
+     * the relative midpoints of the two runs share, plus one.
+     */
+    static int power(int from, int to, int left, int middle, int right) {
+        long n = to - from;
+        // Twice each midpoint, relative to from, as a fraction of 2n scaled to 31 bits
+        long a = (((long) left + middle - 2L * from) << 30) / n;
+        long b = (((long) middle + right - 2L * from) << 30) / n;
+        return Integer.numberOfLeadingZeros((int) (a ^ b));
+    }
+
+    /**
+     * End of the prefix of the sorted a[lo, hi) whose elements go before key:
+     * those less than key, or not greater than key if orEqual is set. Steps
+     * of 1, 2, 4, ... from lo, then a bisection of the last step, so a short
+     * prefix is found in a few comparisons.
+     */
+    static int prefixFromLeft(double[] a, int lo, int hi, double key, boolean orEqual) {
+        int known = lo; // Every element before known is in the prefix
+        int step = 1;
+        int probe = lo;
+        while (probe < hi && before(a[probe], key, orEqual)) {
+            known = probe + 1;
+            probe = (int) Math.min((long) probe + step, hi);
+            step <<= 1;
+        }
+        return bisect(a, known, Math.min(probe, hi), key, orEqual);
+    }
+
+    /**
+     * Same prefix end as prefixFromLeft, found by stepping down from hi, so
+     * a long prefix (a short remainder) is found in a few comparisons.
+     */
+    static int prefixFromRight(double[] a, int lo, int hi, double key, boolean orEqual) {
+        int known = hi; // Every element from known on is outside the prefix
+        int step = 1;
+        int probe = hi - 1;
+        while (probe >= lo && !before(a[probe], key, orEqual)) {
+            known = probe;
+            probe = (int) Math.max((long) probe - step, lo - 1L);
+            step <<= 1;
+        }
+        return bisect(a, Math.max(probe, lo), known, key, orEqual);
+    }
+
+    private static int bisect(double[] a, int lo, int hi, double key, boolean orEqual) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (before(a[mid], key, orEqual)) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private static boolean before(double value, double key, boolean orEqual) {
+        return orEqual ? value <= key : value < key;
+    }
+
+    /**
+     * One sort: the run stack and the scratch buffer every merge shares.
+     */
+    private static final class Merger {
+        private final double[] arr;
+        private final int from, to;
+        private final double[] buffer;
+        private final int[] starts = new int[MAX_STACK];
+        private final int[] powers = new int[MAX_STACK];
+        private int depth;
+
+        Merger(double[] arr, int from, int to) {
+            this.arr = arr;
+            this.from = from;
+            this.to = to;
+            // A merge copies only the shorter run, which is at most half the range
+            this.buffer = new double[(to - from) / 2 + 1];
+            if (Metrics.ENABLED) Metrics.current().allocated += buffer.length;
+        }
+
+        void run() {
+            // The current run is [start, end); the stack holds the runs before it
+            int start = from;
+            int end = nextRun(from);
+            while (end < to) {
+                int nextEnd = nextRun(end);
+                int p = power(from, to, start, end, nextEnd);
+
+                // Boundaries of higher power lie deeper in the merge tree: merge them first
+                while (depth > 0 && powers[depth - 1] > p) {
+                    int left = starts[--depth];
+                    merge(left, start, end);
+                    start = left;
+                }
+                starts[depth] = start;
+                powers[depth++] = p;
+                start = end;
+                end = nextEnd;
+            }
+            while (depth > 0) {
+                int left = starts[--depth];
+                merge(left, start, end);
+                start = left;
+            }
+        }
+
+        /**
+         * Finds the run starting at lo, extended to MIN_RUN elements if it
+         * is shorter, and returns its end.
+         */
+        private int nextRun(int lo) {
+            int end = runEnd(arr, lo, to);
+            if (end - lo < MIN_RUN) {
+                end = Math.min(lo + MIN_RUN, to);
+                SortUtils.insertionSort(arr, lo, end);
+            }
+            return end;
+        }
+
+        /**
+         * Merges the sorted neighbours arr[lo, mid) and arr[mid, hi).
+         */
+        private void merge(int lo, int mid, int hi) {
+            if (arr[mid - 1] <= arr[mid]) return; // Already in order
+
+            // Left elements not greater than the right run's first stay in front,
+            // right elements not less than the left run's last stay behind
+            lo = prefixFromLeft(arr, lo, mid, arr[mid], true);
+            hi = prefixFromRight(arr, mid, hi, arr[mid - 1], false);
+            if (Metrics.ENABLED) Metrics.current().moves += hi - lo;
+
+            if (mid - lo <= hi - mid) {
+                mergeForward(lo, mid, hi);
+            } else {
+                mergeBackward(lo, mid, hi);
+            }
+        }
+
+        /**
+         * Merges front to back with the left run in the buffer. Ties take the
+         * left element, which keeps the merge stable.
+         */
+        private void mergeForward(int lo, int mid, int hi) {
+            double[] a = arr, left = buffer;
+            int leftLength = mid - lo;
+            System.arraycopy(a, lo, left, 0, leftLength);
+
+            int i = 0, j = mid, k = lo;
+            int leftWins = 0, rightWins = 0;
+            while (i < leftLength && j < hi) {
+                if (a[j] < left[i]) {
+                    a[k++] = a[j++];
+                    leftWins = 0;
+                    if (++rightWins == GALLOP && j < hi) {
+                        int end = prefixFromLeft(a, j, hi, left[i], false);
+                        System.arraycopy(a, j, a, k, end - j);
+                        k += end - j;
+                        j = end;
+                        rightWins = 0;
+                    }
+                } else {
+                    a[k++] = left[i++];
+                    rightWins = 0;
+                    if (++leftWins == GALLOP && i < leftLength) {
+                        int end = prefixFromLeft(left, i, leftLength, a[j], true);
+                        System.arraycopy(left, i, a, k, end - i);
+                        k += end - i;
+                        i = end;
+                        leftWins = 0;
+                    }
+                }
+            }
+            // Whatever is left of the right run is already in place
+            System.arraycopy(left, i, a, k, leftLength - i);
+        }
+
+        /**
+         * Merges back to front with the right run in the buffer. Ties take the
+         * right element (it belongs further back), which keeps the merge
+         * stable.
+         */
+        private void mergeBackward(int lo, int mid, int hi) {
+            double[] a = arr, right = buffer;
+            int rightLength = hi - mid;
+            System.arraycopy(a, mid, right, 0, rightLength);
+
+            int i = mid - 1, j = rightLength - 1, k = hi - 1;
+            int leftWins = 0, rightWins = 0;
+            while (i >= lo && j >= 0) {
+                if (right[j] < a[i]) {
+                    a[k--] = a[i--];
+                    rightWins = 0;
+                    if (++leftWins == GALLOP && i >= lo) {
+                        // Left elements greater than right[j] all go behind it
+                        int start = prefixFromRight(a, lo, i + 1, right[j], true);
+                        int count = i + 1 - start;
+                        System.arraycopy(a, start, a, k - count + 1, count);
+                        k -= count;
+                        i = start - 1;
+                        leftWins = 0;
+                    }
+                } else {
+                    a[k--] = right[j--];
+                    leftWins = 0;
+                    if (++rightWins == GALLOP && j >= 0) {
+                        // Right elements not less than a[i] all go behind it
+                        int start = prefixFromRight(right, 0, j + 1, a[i], false);
+                        int count = j + 1 - start;
+                        System.arraycopy(right, start, a, k - count + 1, count);
+                        k -= count;
+                        j = start - 1;
+                        rightWins = 0;
+                    }
+                }
+            }
+            // Whatever is left of the left run is already in place
+            System.arraycopy(right, 0, a, lo, j + 1);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package engine;
+
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.util.Objects;
+
+/**
+ * ENGINE: Auto (profile, then dispatch)
+ *
+ * DESCRIPTION:
+ * For callers that do not know in advance whether a batch is tiny, nearly
+ * sorted, reversed, duplicate-heavy or random. Each call profiles the range
+ * with SortProfile (about three thousand sampled reads, see there for the
+ * rules) and hands it to the engine the profile picks: insertion,
+ * adaptive-merge, radix, three-way-quick or quick. NaNs are moved to the end
+ * first and left out of the profile.
+ *
+ * AUDITING:
+ * Decisions are logged through System.Logger "engine.AutoSorter" as one line
+ * with the measurements, the engine and the reason, e.g.
+ *
+ *     n=1000000 runs~681640 descents=0.526 inversions=0.508 distinct~524800 -> radix (large unordered input)
+ *
+ * The first decision of an instance and every one that picks a different
+ * engine than the call before are logged at INFO, which by default goes to
+ * standard error through java.util.logging. Repeats of the same pick are
+ * logged at DEBUG, so a loop sorting similar batches stays quiet unless the
+ * logger is set to FINE. lastProfile() returns the latest decision, and
+ * SortProfile.of shows one without sorting.
+ *
+ * Whether equal elements keep their order depends on the engine picked, so
+ * the sort is not stable.
+ *
+ * TIME COMPLEXITY: that of the chosen engine, plus O(1) for the profile
+ *                  (O(SAMPLES log SAMPLES), independent of n)
+ * SPACE COMPLEXITY: that of the chosen engine, plus O(SAMPLES)
+ */
+public class AutoSorter implements Sorter {
+    private static final Logger LOG = System.getLogger(AutoSorter.class.getName());
+
+    private volatile SortProfile last;
+
+    @Override
+    public void sort(double[] arr, int from, int to) {
+        Objects.checkFromToIndex(from, to, arr.length);
+
+        // Not every engine it can pick handles NaN (Insertion Sort does not)
+        to = SortUtils.moveNaNsToEnd(arr, from, to);
+
+        SortProfile profile = SortProfile.of(arr, from, to);
+        SortProfile previous = last;
+        last = profile;
+        boolean changed = previous == null || !previous.algorithm().equals(profile.algorithm());
+        LOG.log(changed ? Level.INFO : Level.DEBUG, profile);
+        profile.sorter().sort(arr, from, to);
+    }
+
+    /**
+     * @return the profile behind the most recent sort, or null before the
+     *         first one
+     */
+    public SortProfile lastProfile() {
+        return last;
+    }
+}
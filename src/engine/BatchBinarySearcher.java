@@ -0,0 +1,128 @@
+package engine;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * ENGINE: Batched Binary Search
+ *
+ * DESCRIPTION:
+ * Answers many keys against one sorted range in a single call. Running
+ * BinarySearcher once per key costs log2 n cache misses and mispredicted
+ * branches per key. This engine sorts the keys instead and walks the data
+ * once, in order:
+ *
+ * 1. The keys are sorted together with their original positions
+ *    (RadixCoSorter).
+ * 2. The sorted keys are cut into one slice per task, and the slices run in
+ *    parallel on a ForkJoinPool.
+ * 3. Within a slice, each key gallops forward from the position of the
+ *    previous one (1, 2, 4, ... elements, then a binary search inside the
+ *    last step). Dense keys therefore degrade into a merge join over
+ *    neighbouring elements, and sparse keys cost O(log gap) instead of
+ *    O(log n).
+ *
+ * Batches below SORT_THRESHOLD keys skip the sort and search each key
+ * directly.
+ *
+ * MATCHING:
+ * Same as BinarySearcher.search: a key matches an element when they differ
+ * by less than Searcher.EPSILON, and the result is the lowest matching
+ * index. NaN keys never match.
+ *
+ * TIME COMPLEXITY: O(m + m log(n / m)) for m keys over n elements
+ * SPACE COMPLEXITY: O(m)
+ */
+public class BatchBinarySearcher {
+    static final int SORT_THRESHOLD = 1 << 10;
+    static final int PARALLEL_THRESHOLD = 1 << 15;
+    static final int MIN_SLICE = 1 << 13;
+
+    private final ForkJoinPool pool;
+
+    public BatchBinarySearcher() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public BatchBinarySearcher(ForkJoinPool pool) {
+        this.pool = Objects.requireNonNull(pool);
+    }
+
+    /**
+     * Looks up every key in the sorted range arr[from, to).
+     *
+     * @return for each key, the lowest index in [from, to) of a matching
+     *         element, or -1 if there is none
+     * @throws IndexOutOfBoundsException if the range is not inside the array
+     */
+    public int[] searchAll(double[] arr, int from, int to, double[] keys) {
+        Objects.checkFromToIndex(from, to, arr.length);
+
+        int m = keys.length;
+        int[] result = new int[m];
+
+        if (m < SORT_THRESHOLD) {
+            for (int q = 0; q < m; q++) {
+                result[q] = match(arr, to, BinarySearcher.firstMatchCandidate(arr, from, to, keys[q]), keys[q]);
+            }
+            return result;
+        }
+
+        // NaN keys never match; leave them out of the sort
+        int count = 0;
+        for (int q = 0; q < m; q++) {
+            if (keys[q] != keys[q]) result[q] = -1;
+            else count++;
+        }
+        double[] sorted = new double[count];
+        int[] order = new int[count];
+        for (int q = 0, i = 0; q < m; q++) {
+            if (keys[q] == keys[q]) {
+                sorted[i] = keys[q];
+                order[i++] = q;
+            }
+        }
+        new RadixCoSorter().sort(sorted, order);
+
+        int slices = count < PARALLEL_THRESHOLD ? 1 : Math.max(1, Math.min(pool.getParallelism() * 4, count / MIN_SLICE));
+        if (slices == 1) {
+            resolve(arr, from, to, sorted, order, 0, count, result);
+            return result;
+        }
+
+        ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[slices];
+        for (int s = 0; s < slices; s++) {
+            int sliceFrom = (int) ((long) count * s / slices);
+            int sliceTo = (int) ((long) count * (s + 1) / slices);
+            tasks[s] = ForkJoinTask.adapt(() -> resolve(arr, from, to, sorted, order, sliceFrom, sliceTo, result));
+        }
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+        return result;
+    }
+
+    /**
+     * Looks up every key in the whole sorted array.
+     */
+    public int[] searchAll(double[] arr, double[] keys) {
+        return searchAll(arr, 0, arr.length, keys);
+    }
+
+    /**
+     * Resolves sorted[sliceFrom, sliceTo), galloping forward from each
+     * answer to the next.
+     */
+    private static void resolve(double[] arr, int from, int to, double[] sorted, int[] order,
+                                int sliceFrom, int sliceTo, int[] result) {
+        int position = from;
+        for (int i = sliceFrom; i < sliceTo; i++) {
+            double key = sorted[i];
+            position = BinarySearcher.gallop(arr, position, to, key);
+            result[order[i]] = match(arr, to, position, key);
+        }
+    }
+
+    private static int match(double[] arr, int to, int index, double key) {
+        return index < to && Math.abs(arr[index] - key) < Searcher.EPSILON ? index : -1;
+    }
+}
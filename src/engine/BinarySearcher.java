@@ -0,0 +1,183 @@
+package engine;
+
+import java.util.Objects;
+
+/**
+ * ENGINE: Binary Search
+ *
+ * DESCRIPTION:
+ * Repeatedly halves the search interval. The range must already be sorted in
+ * ascending order; this class does not sort it.
+ *
+ * Besides search, it answers the usual ordered queries in O(log n), each
+ * as a single bisection for the first index where a monotone condition
+ * becomes true:
+ *
+ * - lowerBound(x):   first index with arr[i] >= x
+ * - upperBound(x):   first index with arr[i] > x
+ * - countInRange(a, b): how many elements lie in [a, b)
+ * - equalRange(x):   the run of elements that match x within EPSILON
+ *
+ * TOLERANCE:
+ * The bounds and countInRange compare exactly, so results are consistent
+ * with each other: countInRange(a, b) == lowerBound(b) - lowerBound(a).
+ * Only matching uses the tolerance. An element matches x when
+ * |arr[i] - x| < EPSILON. In a sorted range the matches form one contiguous
+ * run, and equalRange returns exactly that run. search returns its first
+ * index, so with duplicates the answer is always the lowest match.
+ *
+ * NaN elements are taken to sort after everything else, as Arrays.sort
+ * leaves them. A NaN key never matches. Its lower bound is the first NaN,
+ * and its upper bound is the end of the range. -0.0 and 0.0 compare equal.
+ *
+ * TIME COMPLEXITY: O(log n)
+ * SPACE COMPLEXITY: O(1)
+ */
+public class BinarySearcher implements Searcher {
+
+    /**
+     * @return the lowest index of an element within EPSILON of key, or -1
+     */
+    @Override
+    public int search(double[] arr, int from, int to, double key) {
+        Objects.checkFromToIndex(from, to, arr.length);
+        if (Metrics.ENABLED) Metrics.begin("binary");
+
+        int i = firstMatchCandidate(arr, from, to, key);
+        if (Metrics.ENABLED) Metrics.end();
+        return i < to && Math.abs(arr[i] - key) < EPSILON ? i : -1;
+    }
+
+    /**
+     * @return the first index in [from, to) whose element is not less than
+     *         key, or to if there is none
+     */
+    public int lowerBound(double[] arr, int from, int to, double key) {
+        Objects.checkFromToIndex(from, to, arr.length);
+
+        int low = from, high = to;
+        if (key != key) {
+            // The first NaN: numbers are "less than" a NaN key
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (arr[mid] != arr[mid]) high = mid;
+                else low = mid + 1;
+            }
+            return low;
+        }
+
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (!(arr[mid] < key)) high = mid; // NaN elements land on this side
+            else low = mid + 1;
+        }
+        return low;
+    }
+
+    public int lowerBound(double[] arr, double key) {
+        return lowerBound(arr, 0, arr.length, key);
+    }
+
+    /**
+     * @return the first index in [from, to) whose element is greater than
+     *         key, or to if there is none
+     */
+    public int upperBound(double[] arr, int from, int to, double key) {
+        Objects.checkFromToIndex(from, to, arr.length);
+        if (key != key) return to;
+
+        int low = from, high = to;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (!(arr[mid] <= key)) high = mid;
+            else low = mid + 1;
+        }
+        return low;
+    }
+
+    public int upperBound(double[] arr, double key) {
+        return upperBound(arr, 0, arr.length, key);
+    }
+
+    /**
+     * @return {first, end}: arr[first, end) are exactly the elements within
+     *         EPSILON of key. The run is empty (first == end) when nothing
+     *         matches, with first at the position key would be inserted.
+     */
+    public int[] equalRange(double[] arr, int from, int to, double key) {
+        Objects.checkFromToIndex(from, to, arr.length);
+
+        int first = firstMatchCandidate(arr, from, to, key);
+        int low = first, high = to;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (!(arr[mid] - key < EPSILON)) high = mid;
+            else low = mid + 1;
+        }
+        return new int[] {first, low};
+    }
+
+    public int[] equalRange(double[] arr, double key) {
+        return equalRange(arr, 0, arr.length, key);
+    }
+
+    /**
+     * @return the number of elements x in [from, to) with low <= x < high;
+     *         0 if high <= low or either bound is NaN
+     */
+    public int countInRange(double[] arr, int from, int to, double low, double high) {
+        Objects.checkFromToIndex(from, to, arr.length);
+        if (!(low < high)) return 0;
+
+        int first = lowerBound(arr, from, to, low);
+        return lowerBound(arr, first, to, high) - first;
+    }
+
+    public int countInRange(double[] arr, double low, double high) {
+        return countInRange(arr, 0, arr.length, low, high);
+    }
+
+    /**
+     * First index in [lo, hi) that is at or past the first possible match of
+     * key, or hi if there is none.
+     */
+    static int firstMatchCandidate(double[] arr, int lo, int hi, double key) {
+        Metrics.Counters c = Metrics.ENABLED ? Metrics.current() : null;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (Metrics.ENABLED) c.comparisons++;
+            if (atOrPast(arr[mid], key)) hi = mid;
+            else lo = mid + 1;
+        }
+        return lo;
+    }
+
+    /**
+     * Same as firstMatchCandidate, but found by doubling steps from lo
+     * (1, 2, 4, ...) and then bisecting the last step, so the cost depends
+     * on the distance of the answer from lo rather than on hi - lo.
+     */
+    static int gallop(double[] arr, int lo, int hi, double key) {
+        int start = lo;
+        int probe = lo;
+        int step = 1;
+        int probes = 0;
+        while (probe < hi && !atOrPast(arr[probe], key)) {
+            start = probe + 1;
+            probe = (int) Math.min((long) probe + step, hi);
+            step <<= 1;
+            if (Metrics.ENABLED) probes++;
+        }
+        if (Metrics.ENABLED) Metrics.current().comparisons += probe < hi ? probes + 1 : probes;
+        return firstMatchCandidate(arr, start, probe, key);
+    }
+
+    /**
+     * Whether value is at or past the first possible match of key, i.e. not
+     * EPSILON or more below it. Written as a negation so that NaN elements,
+     * which sort last, count as past.
+     */
+    static boolean atOrPast(double value, double key) {
+        return !(value - key <= -EPSILON);
+    }
+}
@@ -0,0 +1,40 @@
+package engine;
+
+import java.util.Objects;
+
+/**
+ * ENGINE: Bubble Sort
+ *
+ * DESCRIPTION:
+ * Repeatedly swaps adjacent out-of-order elements and stops early once a pass
+ * makes no swaps.
+ *
+ * TIME COMPLEXITY: O(n²)
+ * SPACE COMPLEXITY: O(1)
+ */
+public class BubbleSorter implements Sorter {
+
+    @Override
+    public void sort(double[] arr, int from, int to) {
+        Objects.checkFromToIndex(from, to, arr.length);
+        Metrics.Counters c = Metrics.ENABLED ? Metrics.begin("bubble") : null;
+
+        for (int end = to - 1; end > from; end--) {
+            boolean swapped = false;
+            for (int j = from; j < end; j++) {
+                if (Metrics.ENABLED) c.comparisons++;
+                if (arr[j] > arr[j + 1]) {
+                    // Swap elements
+                    double temp = arr[j];
+                    arr[j] = arr[j + 1];
+                    arr[j + 1] = temp;
+                    swapped = true;
+                    if (Metrics.ENABLED) c.swaps++;
+                }
+            }
+
+            if (!swapped) break; // Optimization: if no swaps, range is sorted
+        }
+        if (Metrics.ENABLED) Metrics.end();
+    }
+}
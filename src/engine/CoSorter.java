@@ -0,0 +1,85 @@
+package engine;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A sorting kernel that reorders a payload array along with the keys.
+ *
+ * DESCRIPTION:
+ * Sorter only reorders a bare double[], so any association with the rest of
+ * a record is lost. A CoSorter sorts a double[] of keys and applies every
+ * move to a parallel payload array as well, typically row numbers (int[]) or
+ * record ids (long[]). Nothing is boxed and nothing is allocated per element:
+ * each sort allocates at most a few scratch arrays up front.
+ *
+ * argsort is the special case where the payload starts as the identity
+ * permutation. It returns the order of the keys and leaves them untouched:
+ *
+ *     int[] order = coSorter.argsort(scores);   // scores[order[0]] is the smallest
+ *
+ * Keys are ordered as the Sorter engines order them, with NaN keys (and
+ * their payloads) last. Implementations document whether equal keys keep
+ * their payloads' original order (stability).
+ */
+public interface CoSorter {
+
+    /**
+     * Sorts keys[from, to) in ascending order and applies the same
+     * permutation to payload[from, to).
+     *
+     * @throws IndexOutOfBoundsException if the range is not inside both arrays
+     */
+    void sort(double[] keys, int[] payload, int from, int to);
+
+    default void sort(double[] keys, int[] payload) {
+        sort(keys, payload, 0, keys.length);
+    }
+
+    /**
+     * Sorts keys[from, to) in ascending order and applies the same
+     * permutation to payload[from, to). A copy of the keys is sorted with an
+     * int[] of positions, which is then applied to the payload in one pass.
+     *
+     * @throws IndexOutOfBoundsException if the range is not inside both arrays
+     */
+    default void sort(double[] keys, long[] payload, int from, int to) {
+        Objects.checkFromToIndex(from, to, keys.length);
+        Objects.checkFromToIndex(from, to, payload.length);
+
+        int n = to - from;
+        double[] sorted = Arrays.copyOfRange(keys, from, to);
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        sort(sorted, order, 0, n);
+
+        long[] moved = new long[n];
+        for (int i = 0; i < n; i++) moved[i] = payload[from + order[i]];
+        System.arraycopy(sorted, 0, keys, from, n);
+        System.arraycopy(moved, 0, payload, from, n);
+    }
+
+    default void sort(double[] keys, long[] payload) {
+        sort(keys, payload, 0, keys.length);
+    }
+
+    /**
+     * Returns the indices of keys[from, to) in the order that sorts them.
+     * keys itself is not modified.
+     *
+     * @throws IndexOutOfBoundsException if the range is not inside the array
+     */
+    default int[] argsort(double[] keys, int from, int to) {
+        Objects.checkFromToIndex(from, to, keys.length);
+
+        double[] copy = Arrays.copyOfRange(keys, from, to);
+        int[] order = new int[to - from];
+        for (int i = 0; i < order.length; i++) order[i] = from + i;
+        sort(copy, order);
+        return order;
+    }
+
+    default int[] argsort(double[] keys) {
+        return argsort(keys, 0, keys.length);
+    }
+}
@@ -0,0 +1,195 @@
+package engine;
+
+import java.util.Objects;
+
+/**
+ * ENGINE: Dual-Pivot Quick Sort
+ *
+ * DESCRIPTION:
+ * Yaroslavskiy's dual-pivot Quick Sort. Two pivots p1 < p2, taken from a
+ * sorted sample of five elements, split each range into three parts in one
+ * pass: < p1, between p1 and p2, and > p2. That is fewer passes over memory
+ * than single-pivot partitioning.
+ *
+ * Duplicates are handled in two places:
+ * - If the two pivots are equal, the range is split three ways around that
+ *   value (as in ThreeWayQuickSorter), finishing all of its copies at once.
+ * - If the middle part is still large, keys equal to p1 or p2 are moved to
+ *   its edges and left out of the recursion.
+ *
+ * Like IntroSorter, the engine recurses only into the two smaller parts,
+ * switches to insertion sort for short ranges and falls back to heap sort
+ * past the depth limit.
+ *
+ * PARTITION INVARIANT:
+ * p1 | [lo+1, less) < p1 | [less, k) p1..p2 | (great, hi-1) > p2 | p2
+ *
+ * TIME COMPLEXITY: O(n log n) worst and average
+ * SPACE COMPLEXITY: O(log n)
+ */
+public class DualPivotQuickSorter implements Sorter {
+
+    @Override
+    public void sort(double[] arr, int from, int to) {
+        Objects.checkFromToIndex(from, to, arr.length);
+
+        to = SortUtils.moveNaNsToEnd(arr, from, to);
+        if (to - from < 2) return;
+
+        if (Metrics.ENABLED) Metrics.begin("dual-pivot-quick");
+        dualPivotSort(arr, from, to, IntroSorter.depthLimit(to - from));
+        if (Metrics.ENABLED) Metrics.end();
+    }
+
+    private static void dualPivotSort(double[] arr, int lo, int hi, int depth) {
+        Metrics.Counters c = Metrics.ENABLED ? Metrics.current() : null;
+        if (Metrics.ENABLED) c.enter();
+
+        while (hi - lo > IntroSorter.INSERTION_THRESHOLD) {
+            if (depth-- == 0) {
+                IntroSorter.heapSort(arr, lo, hi);
+                if (Metrics.ENABLED) c.exit();
+                return;
+            }
+
+            // Five evenly spaced samples around the middle, sorted in place
+            int n = hi - lo;
+            int seventh = (n >>> 3) + (n >>> 6) + 1;
+            int e3 = (lo + hi) >>> 1;
+            int e2 = e3 - seventh;
+            int e1 = e2 - seventh;
+            int e4 = e3 + seventh;
+            int e5 = e4 + seventh;
+            sortSamples(arr, e1, e2, e3, e4, e5);
+
+            if (arr[e2] == arr[e4]) {
+                // Pivots are equal: split three ways around that single value
+                double pivot = arr[e3];
+                int lt = lo, i = lo, gt = hi;
+                while (i < gt) {
+                    double value = arr[i];
+                    if (value < pivot) {
+                        SortUtils.swap(arr, lt++, i++);
+                    } else if (value > pivot) {
+                        SortUtils.swap(arr, i, --gt);
+                    } else {
+                        i++;
+                    }
+                }
+
+                if (lt - lo < hi - gt) {
+                    dualPivotSort(arr, lo, lt, depth);
+                    lo = gt;
+                } else {
+                    dualPivotSort(arr, gt, hi, depth);
+                    hi = lt;
+                }
+                continue;
+            }
+
+            // Move the pivots out of the way, to both ends of the range
+            SortUtils.swap(arr, e2, lo);
+            SortUtils.swap(arr, e4, hi - 1);
+            double p1 = arr[lo];
+            double p2 = arr[hi - 1];
+
+            int less = lo + 1;
+            int great = hi - 2;
+
+            outer:
+            for (int k = less; k <= great; k++) {
+                double value = arr[k];
+                if (value < p1) {
+                    arr[k] = arr[less];
+                    arr[less++] = value;
+                } else if (value > p2) {
+                    // Find an element from the right that does not belong there
+                    while (arr[great] > p2) {
+                        if (great-- == k) break outer;
+                    }
+                    if (arr[great] < p1) {
+                        arr[k] = arr[less];
+                        arr[less++] = arr[great];
+                    } else {
+                        arr[k] = arr[great];
+                    }
+                    arr[great--] = value;
+                }
+            }
+
+            // Place the pivots in their final positions
+            arr[lo] = arr[less - 1];
+            arr[less - 1] = p1;
+            arr[hi - 1] = arr[great + 1];
+            arr[great + 1] = p2;
+
+            int leftEnd = less - 1;
+            int rightStart = great + 2;
+
+            // A large middle part usually means many keys equal to a pivot:
+            // move those to its edges, they are already in their final place
+            if (great + 1 - less > n - (n >>> 2)) {
+                for (int k = less; k <= great; k++) {
+                    double value = arr[k];
+                    if (value == p1) {
+                        arr[k] = arr[less];
+                        arr[less++] = value;
+                    } else if (value == p2) {
+                        while (arr[great] == p2) {
+                            if (great-- == k) break;
+                        }
+                        if (great < k) break;
+                        if (arr[great] == p1) {
+                            arr[k] = arr[less];
+                            arr[less++] = arr[great];
+                        } else {
+                            arr[k] = arr[great];
+                        }
+                        arr[great--] = value;
+                    }
+                }
+            }
+
+            // Recurse into the two smaller parts, keep looping on the largest
+            int leftSize = leftEnd - lo;
+            int middleSize = great + 1 - less;
+            int rightSize = hi - rightStart;
+            if (leftSize >= middleSize && leftSize >= rightSize) {
+                dualPivotSort(arr, less, great + 1, depth);
+                dualPivotSort(arr, rightStart, hi, depth);
+                hi = leftEnd;
+            } else if (middleSize >= rightSize) {
+                dualPivotSort(arr, lo, leftEnd, depth);
+                dualPivotSort(arr, rightStart, hi, depth);
+                lo = less;
+                hi = great + 1;
+            } else {
+                dualPivotSort(arr, lo, leftEnd, depth);
+                dualPivotSort(arr, less, great + 1, depth);
+                lo = rightStart;
+            }
+        }
+        SortUtils.insertionSort(arr, lo, hi);
+        if (Metrics.ENABLED) c.exit();
+    }
+
+    /**
+     * Sorts the values at the five sample positions with a nine-comparator
+     * sorting network, without allocating.
+     */
+    private static void sortSamples(double[] arr, int e1, int e2, int e3, int e4, int e5) {
+        compareSwap(arr, e1, e2);
+        compareSwap(arr, e4, e5);
+        compareSwap(arr, e3, e5);
+        compareSwap(arr, e3, e4);
+        compareSwap(arr, e1, e4);
+        compareSwap(arr, e1, e3);
+        compareSwap(arr, e2, e5);
+        compareSwap(arr, e2, e4);
+        compareSwap(arr, e2, e3);
+    }
+
+    private static void compareSwap(double[] arr, int i, int j) {
+        if (arr[i] > arr[j]) SortUtils.swap(arr, i, j);
+    }
+}
@@ -0,0 +1,27 @@
+package engine;
+
+import java.util.List;
+
+/**
+ * JMX view of the engine operation counters (see Metrics).
+ *
+ * Registered as "engine:type=Metrics" when the JVM runs with
+ * -Dengine.metrics=true, so JConsole, VisualVM or any JMX client can read
+ * the counters of a running process and reset them.
+ */
+public interface EngineMetricsMXBean {
+
+    boolean isEnabled();
+
+    /**
+     * @return one row per algorithm, totalled over all threads
+     */
+    List<Metrics.Snapshot> getAlgorithms();
+
+    /**
+     * @return the counters as a text table
+     */
+    String dump();
+
+    void reset();
+}
@@ -0,0 +1,118 @@
+package engine;
+
+import java.util.Locale;
+
+/**
+ * Looks up engines by name.
+ *
+ * DESCRIPTION:
+ * Maps the names used on the command line and in configuration (and the
+ * console menu numbers) to engine instances, so callers do not need to know
+ * the concrete classes.
+ *
+ * SORTERS:   bubble (3), selection (4), insertion (5), merge (6), quick (7),
+ *            parallel-merge, adaptive-merge, lomuto-quick, three-way-quick,
+ *            dual-pivot-quick, parallel-quick, radix, parallel-radix, auto
+ *
+ * "quick" is the Introsort engine; the textbook last-element-pivot Quick Sort
+ * stays available as "lomuto-quick" for comparison. "auto" profiles each
+ * input and picks one of the others (see SortProfile).
+ * SEARCHERS: linear (1), binary (2), interpolation, exponential, vector-linear,
+ *            parallel-linear
+ * CO-SORTERS (keys with a payload): merge (6), quick (7), radix
+ */
+public final class Engines {
+
+    private Engines() {
+    }
+
+    /**
+     * @return the sorter registered under name, or null if there is none
+     */
+    public static Sorter sorter(String name) {
+        switch (name.toLowerCase(Locale.ROOT)) {
+            case "3": case "bubble":
+                return new BubbleSorter();
+            case "4": case "selection":
+                return new SelectionSorter();
+            case "5": case "insertion":
+                return new InsertionSorter();
+            case "6": case "merge":
+                return new MergeSorter();
+            case "7": case "quick":
+                return new IntroSorter();
+            case "lomuto-quick":
+                return new QuickSorter();
+            case "three-way-quick":
+                return new ThreeWayQuickSorter();
+            case "dual-pivot-quick":
+                return new DualPivotQuickSorter();
+            case "parallel-quick":
+                return new ParallelQuickSorter();
+            case "parallel-merge":
+                return new ParallelMergeSorter();
+            case "adaptive-merge":
+                return new AdaptiveMergeSorter();
+            case "radix":
+                return new RadixSorter();
+            case "parallel-radix":
+                return new ParallelRadixSorter();
+            case "auto":
+                return new AutoSorter();
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * @return the co-sorter registered under name, or null if there is none.
+     *         merge and radix are stable; quick is not.
+     */
+    public static CoSorter coSorter(String name) {
+        switch (name.toLowerCase(Locale.ROOT)) {
+            case "6": case "merge":
+                return new MergeCoSorter();
+            case "7": case "quick":
+                return new IntroCoSorter();
+            case "radix":
+                return new RadixCoSorter();
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * @return the searcher registered under name, or null if there is none
+     */
+    public static Searcher searcher(String name) {
+        switch (name.toLowerCase(Locale.ROOT)) {
+            case "1": case "linear":
+                return new LinearSearcher();
+            case "vector-linear":
+                return vectorLinearSearcher();
+            case "parallel-linear":
+                return new ParallelLinearSearcher();
+            case "2": case "binary":
+                return new BinarySearcher();
+            case "interpolation":
+                return new InterpolationSearcher();
+            case "exponential":
+                return new ExponentialSearcher();
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * VectorLinearSearcher is compiled from src-vector only when the
+     * jdk.incubator.vector module is available; without it, the scalar
+     * LinearSearcher gives the same results.
+     */
+    private static Searcher vectorLinearSearcher() {
+        try {
+            return (Searcher) Class.forName("engine.VectorLinearSearcher").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return new LinearSearcher();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package engine;
+
+import java.util.Objects;
+
+/**
+ * ENGINE: Exponential Search
+ *
+ * DESCRIPTION:
+ * Also known as galloping search. Probes the elements at from, from + 1,
+ * from + 3, from + 7, ..., doubling the step until it passes the key, then
+ * bisects the last step.
+ *
+ * The cost depends on how far the answer is from the start, not on the size
+ * of the range: O(log d) for a key at distance d. That makes it the right
+ * choice when keys tend to sit near the front (recent entries of a log
+ * sorted newest first, cursors moving forward through the data). It also
+ * suits a growing, effectively unbounded stream: the end of the range only
+ * limits the probes and is never used to pick one.
+ *
+ * All other operations (bounds, ranges, matching rules) are those of
+ * BinarySearcher; search also returns the lowest matching index.
+ *
+ * TIME COMPLEXITY: O(log d), d = distance of the match from the start
+ * SPACE COMPLEXITY: O(1)
+ */
+public class ExponentialSearcher extends BinarySearcher {
+
+    @Override
+    public int search(double[] arr, int from, int to, double key) {
+        Objects.checkFromToIndex(from, to, arr.length);
+
+        if (Metrics.ENABLED) Metrics.begin("exponential");
+
+        int i = gallop(arr, from, to, key);
+        if (Metrics.ENABLED) Metrics.end();
+        return i < to && Math.abs(arr[i] - key) < EPSILON ? i : -1;
+    }
+}
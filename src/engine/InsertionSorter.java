@@ -0,0 +1,44 @@
+package engine;
+
+import java.util.Objects;
+
+/**
+ * ENGINE: Insertion Sort
+ *
+ * DESCRIPTION:
+ * Grows a sorted prefix one element at a time, shifting larger elements right
+ * to make room for each new key.
+ *
+ * TIME COMPLEXITY: O(n²), O(n) on already sorted input
+ * SPACE COMPLEXITY: O(1)
+ */
+public class InsertionSorter implements Sorter {
+
+    @Override
+    public void sort(double[] arr, int from, int to) {
+        Objects.checkFromToIndex(from, to, arr.length);
+        Metrics.Counters c = Metrics.ENABLED ? Metrics.begin("insertion") : null;
+
+        for (int i = from + 1; i < to; i++) {
+            double key = arr[i];
+            int j = i - 1;
+
+            // Shift elements larger than key one position to the right
+            while (j >= from && arr[j] > key) {
+                arr[j + 1] = arr[j];
+                j--;
+            }
+
+            // Insert the key at its correct position
+            arr[j + 1] = key;
+
+            if (Metrics.ENABLED) {
+                // One comparison per shift, plus the one that stopped the loop
+                int shifts = i - 1 - j;
+                c.comparisons += j >= from ? shifts + 1 : shifts;
+                c.moves += shifts + 1;
+            }
+        }
+        if (Metrics.ENABLED) Metrics.end();
+    }
+}
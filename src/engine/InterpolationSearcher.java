@@ -0,0 +1,73 @@
+package engine;
+
+import java.util.Objects;
+
+/**
+ * ENGINE: Interpolation Search
+ *
+ * DESCRIPTION:
+ * Binary search always probes the middle. Interpolation search instead
+ * probes where the key would sit if the values between arr[lo] and
+ * arr[hi - 1] were spread evenly:
+ *
+ *     probe = lo + (key - arr[lo]) / (arr[hi - 1] - arr[lo]) * (hi - 1 - lo)
+ *
+ * On close-to-uniform data (timestamps, IDs, prices in a narrow band) this
+ * takes O(log log n) probes instead of O(log n).
+ *
+ * BISECTION FALLBACK:
+ * On skewed data a pure interpolation search can degrade to O(n) probes. So
+ * after a budget of about log2(log2 n) + 2 interpolation probes, which is all
+ * uniform data needs, every other probe is a plain bisection. That caps the
+ * worst case at about twice the probes of a binary search. Probes also fall
+ * back to bisection whenever the interpolation is undefined (equal endpoints,
+ * infinities, NaN) or the key lies outside [arr[lo], arr[hi - 1]].
+ *
+ * Whether a range is uniform enough to benefit is best decided once, when it
+ * is sorted: see SearchProfile.
+ *
+ * All other operations (bounds, ranges, matching rules) are those of
+ * BinarySearcher; search also returns the lowest matching index.
+ *
+ * TIME COMPLEXITY: O(log log n) on uniform data, O(log n) worst case
+ * SPACE COMPLEXITY: O(1)
+ */
+public class InterpolationSearcher extends BinarySearcher {
+    static final int BISECT_BELOW = 8;
+
+    @Override
+    public int search(double[] arr, int from, int to, double key) {
+        Objects.checkFromToIndex(from, to, arr.length);
+        Metrics.Counters c = Metrics.ENABLED ? Metrics.begin("interpolation") : null;
+
+        int lo = from, hi = to;
+        int budget = log2(log2(to - from + 1) + 1) + 2;
+        int probes = 0;
+
+        // Invariant: the first element at or past key is in [lo, hi]
+        while (hi - lo > BISECT_BELOW) {
+            int probe;
+            double t = (key - arr[lo]) / (arr[hi - 1] - arr[lo]);
+            boolean bisect = ++probes > budget && (probes & 1) == 0;
+
+            if (bisect || !(t >= 0 && t <= 1)) {
+                probe = (lo + hi) >>> 1;
+            } else {
+                probe = lo + (int) (t * (hi - 1 - lo));
+            }
+
+            if (atOrPast(arr[probe], key)) hi = probe;
+            else lo = probe + 1;
+        }
+
+        if (Metrics.ENABLED) c.comparisons += probes;
+
+        int i = firstMatchCandidate(arr, lo, hi, key);
+        if (Metrics.ENABLED) Metrics.end();
+        return i < to && Math.abs(arr[i] - key) < EPSILON ? i : -1;
+    }
+
+    private static int log2(int n) {
+        return 31 - Integer.numberOfLeadingZeros(n);
+    }
+}
@@ -0,0 +1,104 @@
+package engine;
+
+import java.util.Objects;
+
+/**
+ * ENGINE: Introsort (with payload)
+ *
+ * DESCRIPTION:
+ * IntroSorter with every swap applied to a payload array as well: ninther
+ * pivots, Hoare partition, recursion on the smaller side only, insertion
+ * sort for short ranges and a Heap Sort fallback past 2 * log2(n) levels.
+ * It sorts in place and needs no scratch array, but like every Quick Sort it
+ * is not stable: equal keys may end up with their payloads in any order.
+ * Use MergeCoSorter or RadixCoSorter when that matters.
+ *
+ * NaN keys go last. -0.0 and 0.0 compare equal.
+ *
+ * TIME COMPLEXITY: O(n log n) worst and average
+ * SPACE COMPLEXITY: O(log n)
+ */
+public class IntroCoSorter implements CoSorter {
+
+    @Override
+    public void sort(double[] keys, int[] payload, int from, int to) {
+        Objects.checkFromToIndex(from, to, keys.length);
+        Objects.checkFromToIndex(from, to, payload.length);
+
+        to = SortUtils.moveNaNsToEnd(keys, payload, from, to);
+        if (to - from < 2) return;
+
+        introSort(keys, payload, from, to, IntroSorter.depthLimit(to - from));
+    }
+
+    private static void introSort(double[] keys, int[] payload, int lo, int hi, int depth) {
+        while (hi - lo > IntroSorter.INSERTION_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(keys, payload, lo, hi);
+                return;
+            }
+
+            int p = partition(keys, payload, lo, hi);
+
+            // Recurse into the smaller side, keep looping on the larger one
+            if (p - lo < hi - p - 1) {
+                introSort(keys, payload, lo, p, depth);
+                lo = p + 1;
+            } else {
+                introSort(keys, payload, p + 1, hi, depth);
+                hi = p;
+            }
+        }
+        SortUtils.insertionSort(keys, payload, lo, hi);
+    }
+
+    /**
+     * IntroSorter.partition, moving the payload along.
+     */
+    private static int partition(double[] keys, int[] payload, int lo, int hi) {
+        SortUtils.swap(keys, payload, lo, IntroSorter.choosePivot(keys, lo, hi));
+        double pivot = keys[lo];
+
+        int i = lo;
+        int j = hi;
+        while (true) {
+            while (keys[++i] < pivot) {
+                if (i == hi - 1) break;
+            }
+            while (pivot < keys[--j]) {
+                if (j == lo) break;
+            }
+            if (i >= j) break;
+            SortUtils.swap(keys, payload, i, j);
+        }
+
+        SortUtils.swap(keys, payload, lo, j);
+        return j;
+    }
+
+    private static void heapSort(double[] keys, int[] payload, int lo, int hi) {
+        int n = hi - lo;
+        for (int i = (n >>> 1) - 1; i >= 0; i--) {
+            siftDown(keys, payload, lo, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            SortUtils.swap(keys, payload, lo, lo + end);
+            siftDown(keys, payload, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(double[] keys, int[] payload, int base, int i, int n) {
+        double key = keys[base + i];
+        int value = payload[base + i];
+        int child;
+        while ((child = 2 * i + 1) < n) {
+            if (child + 1 < n && keys[base + child] < keys[base + child + 1]) child++;
+            if (!(key < keys[base + child])) break;
+            keys[base + i] = keys[base + child];
+            payload[base + i] = payload[base + child];
+            i = child;
+        }
+        keys[base + i] = key;
+        payload[base + i] = value;
+    }
+}
@@ -0,0 +1,183 @@
+package engine;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * ENGINE: Introselect
+ *
+ * DESCRIPTION:
+ * Finds the k-th smallest element, a percentile or the k smallest elements
+ * without sorting the whole range. It uses the partition step of Quick Sort,
+ * but after each partition it keeps only the side that holds position k and
+ * drops the other. The work shrinks geometrically: n + n/2 + n/4 + ... = O(n)
+ * on average.
+ *
+ * The partition and pivot choice (median of three / ninther, Hoare scans
+ * that split duplicates evenly) are the ones IntroSorter uses. As in
+ * IntroSorter, a depth limit guards against adversarial input. After
+ * 2 * log2(n) partitions the pivot switches to the median of medians of
+ * groups of five, which always discards at least 30% of the range and
+ * makes the worst case O(n) as well.
+ *
+ * RESULT:
+ * select(arr, from, to, k) reorders arr[from, to) so that arr[from + k] is
+ * the element a full sort would put there. Everything before it is <= it
+ * and everything after it is >= it, in no particular order.
+ *
+ * NaN values are moved to the end first, as the sorters do. A k inside
+ * the NaN part therefore returns NaN. The percentiles ignore NaNs.
+ *
+ * TIME COMPLEXITY: O(n) average and worst
+ * SPACE COMPLEXITY: O(log n)
+ */
+public class IntroSelector {
+    static final int INSERTION_THRESHOLD = 16;
+
+    /**
+     * Partially orders arr[from, to) around its k-th smallest element (k = 0
+     * is the minimum) and returns that element.
+     *
+     * @throws IndexOutOfBoundsException if the range is not inside the array
+     *                                   or k is not in [0, to - from)
+     */
+    public double select(double[] arr, int from, int to, int k) {
+        Objects.checkFromToIndex(from, to, arr.length);
+        Objects.checkIndex(k, to - from);
+
+        int end = SortUtils.moveNaNsToEnd(arr, from, to);
+        if (from + k < end) select(arr, from, end, from + k, IntroSorter.depthLimit(end - from));
+        return arr[from + k];
+    }
+
+    public double select(double[] arr, int k) {
+        return select(arr, 0, arr.length, k);
+    }
+
+    /**
+     * Returns the p-th percentile (0 <= p <= 100) of the numbers in
+     * arr[from, to), reordering the range. Between two ranks the value is
+     * interpolated linearly, as in most statistics packages: with the
+     * numbers in order x[0..m-1], h = (m - 1) * p / 100 and the result is
+     * x[floor(h)] + (h - floor(h)) * (x[floor(h) + 1] - x[floor(h)]).
+     *
+     * @return the percentile, or NaN if the range holds no numbers
+     * @throws IllegalArgumentException if p is not in [0, 100]
+     */
+    public double percentile(double[] arr, int from, int to, double p) {
+        return percentiles(arr, from, to, new double[] {p})[0];
+    }
+
+    public double percentile(double[] arr, double p) {
+        return percentile(arr, 0, arr.length, p);
+    }
+
+    /**
+     * Several percentiles at once, in the order given. Each selection only
+     * searches the part of the range left over by the previous, smaller one,
+     * so p50, p90, p99 and p999 together cost little more than one of them.
+     * The next rank an interpolated percentile needs is taken from the last
+     * window its selection partitioned, not from the rest of the range.
+     */
+    public double[] percentiles(double[] arr, int from, int to, double[] ps) {
+        Objects.checkFromToIndex(from, to, arr.length);
+        for (double p : ps) {
+            if (!(p >= 0 && p <= 100)) throw new IllegalArgumentException("Percentile out of range: " + p);
+        }
+
+        int end = SortUtils.moveNaNsToEnd(arr, from, to);
+        int m = end - from;
+        double[] result = new double[ps.length];
+        if (m == 0) {
+            Arrays.fill(result, Double.NaN);
+            return result;
+        }
+
+        int[] order = new IntroCoSorter().argsort(ps);
+
+        // Everything before lo is <= everything from lo on
+        int lo = from;
+        for (int i : order) {
+            double h = (m - 1) * ps[i] / 100;
+            int rank = Math.min((int) h, m - 1);
+            int bound = select(arr, lo, end, from + rank, IntroSorter.depthLimit(end - lo));
+            lo = from + rank;
+
+            double low = arr[lo];
+            double fraction = h - rank;
+            if (fraction == 0 || rank + 1 == m) {
+                result[i] = low;
+            } else {
+                // The next rank is the smallest of arr[lo + 1, bound], and arr[bound] is already in place
+                int next = lo + 1;
+                if (next < bound) select(arr, next, bound, next, IntroSorter.depthLimit(bound - next));
+                result[i] = low + fraction * (arr[next] - low);
+            }
+        }
+        return result;
+    }
+
+    public double[] percentiles(double[] arr, double... ps) {
+        return percentiles(arr, 0, arr.length, ps);
+    }
+
+    /**
+     * Returns the k smallest elements of arr[from, to) in ascending order,
+     * reordering the range: O(n + k log k) instead of a full sort. NaNs
+     * count as larger than every number.
+     *
+     * @throws IllegalArgumentException if k is negative
+     */
+    public double[] smallest(double[] arr, int from, int to, int k) {
+        Objects.checkFromToIndex(from, to, arr.length);
+        if (k < 0) throw new IllegalArgumentException("Negative k: " + k);
+        k = Math.min(k, to - from);
+        if (k == 0) return new double[0];
+
+        select(arr, from, to, k - 1);
+        int end = SortUtils.moveNaNsToEnd(arr, from, from + k); // Already in place; finds the numbers
+        if (end - from > 1) IntroSorter.introSort(arr, from, end, IntroSorter.depthLimit(end - from));
+        return Arrays.copyOfRange(arr, from, from + k);
+    }
+
+    public double[] smallest(double[] arr, int k) {
+        return smallest(arr, 0, arr.length, k);
+    }
+
+    /**
+     * Moves the k-th smallest of the NaN-free arr[lo, hi) to index k.
+     *
+     * @return the end of the last window that held k: arr[k + 1, end) holds
+     *         the elements ranked directly after k, and unless end == hi,
+     *         arr[end] is a pivot already in its sorted place
+     */
+    static int select(double[] arr, int lo, int hi, int k, int depth) {
+        while (hi - lo > INSERTION_THRESHOLD) {
+            int p = depth-- > 0
+                    ? IntroSorter.partition(arr, lo, hi)
+                    : IntroSorter.partition(arr, lo, hi, medianOfMedians(arr, lo, hi));
+            if (k == p) return hi;
+            if (k < p) hi = p;
+            else lo = p + 1;
+        }
+        SortUtils.insertionSort(arr, lo, hi);
+        return hi;
+    }
+
+    /**
+     * Returns the index of the median of the medians of groups of five in
+     * arr[lo, hi). The group medians are gathered at the front of the range.
+     */
+    private static int medianOfMedians(double[] arr, int lo, int hi) {
+        int medians = lo;
+        for (int group = lo; group < hi; group += 5) {
+            int end = Math.min(group + 5, hi);
+            SortUtils.insertionSort(arr, group, end);
+            SortUtils.swap(arr, medians++, (group + end - 1) >>> 1);
+        }
+
+        int mid = (lo + medians) >>> 1;
+        select(arr, lo, medians, mid, IntroSorter.depthLimit(medians - lo));
+        return mid;
+    }
+}
@@ -0,0 +1,181 @@
+package engine;
+
+import java.util.Objects;
+
+/**
+ * ENGINE: Introsort (introspective Quick Sort)
+ *
+ * DESCRIPTION:
+ * Quick Sort with the safeguards that keep it O(n log n) on every input:
+ *
+ * - Pivot: median of three (first, middle, last) for small ranges and
+ *   Tukey's ninther (median of three medians) for larger ones, so sorted,
+ *   reversed and organ-pipe input split evenly.
+ * - Hoare partition: both scans stop on elements equal to the pivot, so runs
+ *   of equal keys are split down the middle instead of all landing on one
+ *   side.
+ * - Recursion only on the smaller side; the larger side is handled by the
+ *   loop. The stack never grows beyond O(log n) frames.
+ * - Insertion sort for ranges of INSERTION_THRESHOLD elements or fewer.
+ * - Heap Sort fallback once the recursion depth exceeds 2 * log2(n), which
+ *   only adversarial inputs ever reach.
+ *
+ * NaN values are moved to the end of the range before sorting, as
+ * java.util.Arrays.sort does.
+ *
+ * TIME COMPLEXITY: O(n log n) worst and average
+ * SPACE COMPLEXITY: O(log n)
+ */
+public class IntroSorter implements Sorter {
+    static final int INSERTION_THRESHOLD = 24;
+    static final int NINTHER_THRESHOLD = 128;
+
+    @Override
+    public void sort(double[] arr, int from, int to) {
+        Objects.checkFromToIndex(from, to, arr.length);
+
+        to = SortUtils.moveNaNsToEnd(arr, from, to);
+        if (to - from < 2) return;
+
+        if (Metrics.ENABLED) Metrics.begin("quick");
+        introSort(arr, from, to, depthLimit(to - from));
+        if (Metrics.ENABLED) Metrics.end();
+    }
+
+    static int depthLimit(int n) {
+        return 2 * (31 - Integer.numberOfLeadingZeros(n));
+    }
+
+    /**
+     * Sorts arr[lo, hi), falling back to Heap Sort after depth more levels.
+     */
+    static void introSort(double[] arr, int lo, int hi, int depth) {
+        Metrics.Counters c = Metrics.ENABLED ? Metrics.current() : null;
+        if (Metrics.ENABLED) c.enter();
+
+        while (hi - lo > INSERTION_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(arr, lo, hi);
+                if (Metrics.ENABLED) c.exit();
+                return;
+            }
+
+            int p = partition(arr, lo, hi);
+
+            // Recurse into the smaller side, keep looping on the larger one
+            if (p - lo < hi - p - 1) {
+                introSort(arr, lo, p, depth);
+                lo = p + 1;
+            } else {
+                introSort(arr, p + 1, hi, depth);
+                hi = p;
+            }
+        }
+        SortUtils.insertionSort(arr, lo, hi);
+        if (Metrics.ENABLED) c.exit();
+    }
+
+    /**
+     * Hoare partition of arr[lo, hi) around a median-of-three or ninther pivot.
+     * Returns the pivot's final index p: arr[lo, p) <= arr[p] <= arr[p + 1, hi).
+     */
+    static int partition(double[] arr, int lo, int hi) {
+        return partition(arr, lo, hi, choosePivot(arr, lo, hi));
+    }
+
+    /**
+     * Hoare partition of arr[lo, hi) around arr[pivotIndex].
+     */
+    static int partition(double[] arr, int lo, int hi, int pivotIndex) {
+        SortUtils.swap(arr, lo, pivotIndex);
+        double pivot = arr[lo];
+
+        int i = lo;
+        int j = hi;
+        int swaps = 0;
+        while (true) {
+            // Both scans stop on equal keys, which splits duplicates evenly
+            while (arr[++i] < pivot) {
+                if (i == hi - 1) break;
+            }
+            while (pivot < arr[--j]) {
+                if (j == lo) break;
+            }
+            if (i >= j) break;
+            SortUtils.swap(arr, i, j);
+            if (Metrics.ENABLED) swaps++;
+        }
+
+        // Place pivot in correct position
+        SortUtils.swap(arr, lo, j);
+
+        if (Metrics.ENABLED) {
+            // Every step of either scan made one comparison
+            Metrics.Counters c = Metrics.current();
+            c.comparisons += (i - lo) + (hi - j);
+            c.swaps += swaps + 2;
+        }
+        return j;
+    }
+
+    /**
+     * Returns the index of the pivot candidate for arr[lo, hi).
+     */
+    static int choosePivot(double[] arr, int lo, int hi) {
+        int n = hi - lo;
+        int mid = (lo + hi) >>> 1;
+        int last = hi - 1;
+
+        if (n <= NINTHER_THRESHOLD) {
+            return medianOfThree(arr, lo, mid, last);
+        }
+
+        // Tukey's ninther: the median of three medians spread over the range
+        int step = n >>> 3;
+        int a = medianOfThree(arr, lo, lo + step, lo + 2 * step);
+        int b = medianOfThree(arr, mid - step, mid, mid + step);
+        int c = medianOfThree(arr, last - 2 * step, last - step, last);
+        return medianOfThree(arr, a, b, c);
+    }
+
+    static int medianOfThree(double[] arr, int a, int b, int c) {
+        if (arr[a] < arr[b]) {
+            if (arr[b] < arr[c]) return b;
+            return arr[a] < arr[c] ? c : a;
+        }
+        if (arr[a] < arr[c]) return a;
+        return arr[b] < arr[c] ? c : b;
+    }
+
+    /**
+     * Heap Sort of arr[lo, hi): build a max-heap, then repeatedly move the
+     * maximum to the end.
+     */
+    static void heapSort(double[] arr, int lo, int hi) {
+        int n = hi - lo;
+        for (int i = (n >>> 1) - 1; i >= 0; i--) {
+            siftDown(arr, lo, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            SortUtils.swap(arr, lo, lo + end);
+            siftDown(arr, lo, 0, end);
+        }
+        if (Metrics.ENABLED) Metrics.current().swaps += Math.max(0, n - 1);
+    }
+
+    private static void siftDown(double[] arr, int base, int i, int n) {
+        Metrics.Counters c = Metrics.ENABLED ? Metrics.current() : null;
+        double value = arr[base + i];
+        int child;
+        while ((child = 2 * i + 1) < n) {
+            if (Metrics.ENABLED) c.comparisons += child + 1 < n ? 2 : 1;
+            if (child + 1 < n && arr[base + child] < arr[base + child + 1]) child++;
+            if (!(value < arr[base + child])) break;
+            arr[base + i] = arr[base + child];
+            if (Metrics.ENABLED) c.moves++;
+            i = child;
+        }
+        arr[base + i] = value;
+        if (Metrics.ENABLED) c.moves++;
+    }
+}
@@ -0,0 +1,32 @@
+package engine;
+
+import java.util.Objects;
+
+/**
+ * ENGINE: Linear Search
+ *
+ * DESCRIPTION:
+ * Checks each element in order and returns the first match. Works on unsorted
+ * data.
+ *
+ * TIME COMPLEXITY: O(n)
+ * SPACE COMPLEXITY: O(1)
+ */
+public class LinearSearcher implements Searcher {
+
+    @Override
+    public int search(double[] arr, int from, int to, double key) {
+        Objects.checkFromToIndex(from, to, arr.length);
+        Metrics.Counters c = Metrics.ENABLED ? Metrics.begin("linear") : null;
+
+        for (int i = from; i < to; i++) {
+            if (Metrics.ENABLED) c.comparisons++;
+            if (Math.abs(arr[i] - key) < EPSILON) {
+                if (Metrics.ENABLED) Metrics.end();
+                return i;
+            }
+        }
+        if (Metrics.ENABLED) Metrics.end();
+        return -1;
+    }
+}
@@ -0,0 +1,80 @@
+package engine;
+
+import java.util.Objects;
+
+/**
+ * ENGINE: Merge Sort (with payload)
+ *
+ * DESCRIPTION:
+ * Merge Sort of the keys that moves a payload array along with them. The
+ * merge takes from the left run on ties, so equal keys keep their payloads
+ * in the original order: the sort is stable.
+ *
+ * Unlike the textbook MergeSorter, which allocates two temporary arrays per
+ * merge, all scratch space is allocated once per sort: half a range of keys
+ * and half a range of payload. Each merge copies only its left run into the
+ * scratch and merges back in place. Runs of INSERTION_THRESHOLD elements or
+ * fewer are insertion-sorted. A merge is skipped when its two runs are
+ * already in order, so presorted input costs O(n).
+ *
+ * NaN keys go last, in their original order. -0.0 and 0.0 compare equal and
+ * keep their original order.
+ *
+ * TIME COMPLEXITY: O(n log n)
+ * SPACE COMPLEXITY: O(n)
+ */
+public class MergeCoSorter implements CoSorter {
+    static final int INSERTION_THRESHOLD = 32;
+
+    @Override
+    public void sort(double[] keys, int[] payload, int from, int to) {
+        Objects.checkFromToIndex(from, to, keys.length);
+        Objects.checkFromToIndex(from, to, payload.length);
+
+        to = SortUtils.moveNaNsToEnd(keys, payload, from, to);
+        if (to - from < 2) return;
+
+        int half = (to - from + 1) / 2;
+        mergeSort(keys, payload, from, to, new double[half], new int[half]);
+    }
+
+    static void mergeSort(double[] keys, int[] payload, int lo, int hi, double[] scratchKeys, int[] scratchPayload) {
+        if (hi - lo <= INSERTION_THRESHOLD) {
+            SortUtils.insertionSort(keys, payload, lo, hi);
+            return;
+        }
+
+        int mid = (lo + hi) >>> 1;
+        mergeSort(keys, payload, lo, mid, scratchKeys, scratchPayload);
+        mergeSort(keys, payload, mid, hi, scratchKeys, scratchPayload);
+        if (keys[mid - 1] <= keys[mid]) return; // Runs already in order
+
+        merge(keys, payload, lo, mid, hi, scratchKeys, scratchPayload);
+    }
+
+    /**
+     * Merges the sorted runs [lo, mid) and [mid, hi). Only the left run is
+     * copied out; the write position never overtakes the right run's read
+     * position, so the right run is merged in place.
+     */
+    private static void merge(double[] keys, int[] payload, int lo, int mid, int hi,
+                              double[] scratchKeys, int[] scratchPayload) {
+        int leftLength = mid - lo;
+        System.arraycopy(keys, lo, scratchKeys, 0, leftLength);
+        System.arraycopy(payload, lo, scratchPayload, 0, leftLength);
+
+        int i = 0, j = mid, k = lo;
+        while (i < leftLength && j < hi) {
+            // Strictly less: on ties the left run goes first, which keeps the sort stable
+            if (keys[j] < scratchKeys[i]) {
+                keys[k] = keys[j];
+                payload[k++] = payload[j++];
+            } else {
+                keys[k] = scratchKeys[i];
+                payload[k++] = scratchPayload[i++];
+            }
+        }
+        System.arraycopy(scratchKeys, i, keys, k, leftLength - i);
+        System.arraycopy(scratchPayload, i, payload, k, leftLength - i);
+    }
+}
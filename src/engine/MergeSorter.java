@@ -0,0 +1,84 @@
+package engine;
+
+import java.util.Objects;
+
+/**
+ * ENGINE: Merge Sort
+ *
+ * DESCRIPTION:
+ * Recursively splits the range in half, sorts each half, then merges the
+ * sorted halves. The merge takes from the left half on ties, so the sort is
+ * stable.
+ *
+ * TIME COMPLEXITY: O(n log n)
+ * SPACE COMPLEXITY: O(n)
+ */
+public class MergeSorter implements Sorter {
+
+    @Override
+    public void sort(double[] arr, int from, int to) {
+        Objects.checkFromToIndex(from, to, arr.length);
+        if (Metrics.ENABLED) Metrics.begin("merge");
+        mergeSort(arr, from, to - 1);
+        if (Metrics.ENABLED) Metrics.end();
+    }
+
+    private void mergeSort(double[] arr, int left, int right) {
+        // Base case: if left < right, divide the array
+        if (left < right) {
+            Metrics.Counters c = Metrics.ENABLED ? Metrics.current() : null;
+            if (Metrics.ENABLED) c.enter();
+
+            // Find the middle point to divide the array into two halves
+            int mid = (left + right) >>> 1;
+
+            // Recursively sort both halves
+            mergeSort(arr, left, mid);
+            mergeSort(arr, mid + 1, right);
+
+            // Merge the sorted halves
+            merge(arr, left, mid, right);
+            if (Metrics.ENABLED) c.exit();
+        }
+    }
+
+    private void merge(double[] arr, int left, int mid, int right) {
+        int n1 = mid - left + 1;
+        int n2 = right - mid;
+        double[] L = new double[n1];
+        double[] R = new double[n2];
+
+        // Copy data to temporary arrays
+        System.arraycopy(arr, left, L, 0, n1);
+        System.arraycopy(arr, mid + 1, R, 0, n2);
+
+        // Initial indexes of first and second subarrays, and merged subarray
+        int i = 0, j = 0, k = left;
+
+        // Merge the temporary arrays back into arr[left..right]
+        while (i < n1 && j < n2) {
+            if (L[i] <= R[j]) {
+                arr[k++] = L[i++];
+            } else {
+                arr[k++] = R[j++];
+            }
+        }
+
+        if (Metrics.ENABLED) {
+            Metrics.Counters c = Metrics.current();
+            c.allocated += n1 + n2;
+            c.comparisons += k - left;
+            // Each element is copied out to L or R and back into arr
+            c.moves += 2L * (n1 + n2);
+        }
+
+        // Copy the remaining elements of L[], if any
+        while (i < n1) {
+            arr[k++] = L[i++];
+        }
+        // Copy the remaining elements of R[], if any
+        while (j < n2) {
+            arr[k++] = R[j++];
+        }
+    }
+}
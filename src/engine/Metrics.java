@@ -0,0 +1,305 @@
+package engine;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import javax.management.ConstructorParameters;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Operation counters for the engines.
+ *
+ * DESCRIPTION:
+ * Elapsed time alone does not explain a slow run. These counters show what
+ * an engine actually did: how many comparisons, swaps and element moves it
+ * made, how many temporary array elements it allocated (such as the L and R
+ * arrays of Merge Sort's merge), and how deep its recursion went.
+ *
+ * ENABLING:
+ * Counting is off unless the JVM starts with -Dengine.metrics=true. ENABLED
+ * is a static final constant, so the JIT compiler folds every
+ * "if (Metrics.ENABLED)" check and removes the counting code from the
+ * compiled engines. Builds keep the instrumentation, and production runs
+ * pay nothing for it.
+ *
+ * COLLECTING:
+ * Each thread counts into its own Counters object per algorithm, with plain
+ * field increments and no locks or atomics. An engine looks its Counters up
+ * once per call (begin, or current from a helper), not once per operation.
+ * Calls nest: an engine that hands a range to another engine counts its own
+ * call, and the other engine counts the call and the work. The fork/join
+ * tasks of a parallel engine attach to its counters on their worker threads
+ * without counting further calls.
+ * Every Counters object is also recorded globally, and snapshot() adds them
+ * up per algorithm. The reads are not synchronized, so counts from threads
+ * that are still sorting may lag slightly. Counters of finished threads are
+ * kept, so a pathological run can be examined after the fact.
+ *
+ * EXPORTING:
+ * dump() returns a text table. When enabled, the counters are also
+ * registered with the platform MBean server as "engine:type=Metrics" (see
+ * EngineMetricsMXBean). Starting the MBean server takes a few hundred
+ * milliseconds, so call init() before timing anything; otherwise the first
+ * instrumented engine pays for it inside its timed sort.
+ *
+ * Every engine counts its calls and the work of the shared helpers it uses
+ * (insertion sort, Introsort partitions, heap sort, binary search probes).
+ * Beyond that, linear, binary (and its variants), bubble, selection,
+ * insertion, merge, quick, lomuto-quick and three-way-quick count their own
+ * comparisons and swaps; the merge and radix engines count their element
+ * moves and scratch arrays; the Quick Sort variants count recursion depth.
+ * Helpers used outside any engine call count into "other", one call per
+ * helper invocation.
+ */
+public final class Metrics {
+    public static final boolean ENABLED = Boolean.getBoolean("engine.metrics");
+    public static final String OBJECT_NAME = "engine:type=Metrics";
+
+    private static final ConcurrentLinkedQueue<Counters> ALL = new ConcurrentLinkedQueue<>();
+    private static final ThreadLocal<ThreadState> STATE = ThreadLocal.withInitial(ThreadState::new);
+
+    static {
+        if (ENABLED) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(new Bean(), new ObjectName(OBJECT_NAME));
+            } catch (JMException e) {
+                // Already registered (e.g. by another class loader): the counters still work, only JMX is missing
+            }
+        }
+    }
+
+    private Metrics() {
+    }
+
+    /**
+     * Loads the class, which registers the MXBean when ENABLED. Does nothing
+     * on later calls.
+     */
+    public static void init() {
+        // The static initializer above does the work
+    }
+
+    /**
+     * Counts one call of algorithm on this thread and makes its counters the
+     * thread's current ones until the matching end(). Only call when ENABLED.
+     */
+    static Counters begin(String algorithm) {
+        Counters counters = attach(algorithm);
+        counters.calls++;
+        return counters;
+    }
+
+    /**
+     * Makes algorithm's counters the thread's current ones until the
+     * matching end(), without counting a call: for the fork/join tasks a
+     * parallel engine's call runs on other threads. Only call when ENABLED.
+     */
+    static Counters attach(String algorithm) {
+        ThreadState state = STATE.get();
+        Counters counters = state.counters(algorithm);
+        if (state.depth == state.stack.length) state.stack = Arrays.copyOf(state.stack, state.depth * 2);
+        state.stack[state.depth++] = counters;
+        return counters;
+    }
+
+    /**
+     * Ends the innermost begin or attach on this thread; the counters before
+     * it become current again.
+     */
+    static void end() {
+        ThreadState state = STATE.get();
+        state.stack[--state.depth] = null;
+    }
+
+    /**
+     * The counters of the call in progress on this thread, for helpers
+     * shared between engines. A helper used outside any call counts one call
+     * of "other". Only call when ENABLED.
+     */
+    static Counters current() {
+        ThreadState state = STATE.get();
+        if (state.depth > 0) return state.stack[state.depth - 1];
+
+        Counters other = state.counters("other");
+        other.calls++;
+        return other;
+    }
+
+    /**
+     * @return the counters of every algorithm used so far, totalled over all
+     *         threads and ordered by name
+     */
+    public static List<Snapshot> snapshot() {
+        Map<String, long[]> totals = new TreeMap<>();
+        for (Counters c : ALL) {
+            long[] t = totals.computeIfAbsent(c.algorithm, name -> new long[6]);
+            t[0] += c.calls;
+            t[1] += c.comparisons;
+            t[2] += c.swaps;
+            t[3] += c.moves;
+            t[4] += c.allocated;
+            t[5] = Math.max(t[5], c.maxDepth);
+        }
+
+        List<Snapshot> result = new ArrayList<>();
+        for (Map.Entry<String, long[]> e : totals.entrySet()) {
+            long[] t = e.getValue();
+            result.add(new Snapshot(e.getKey(), t[0], t[1], t[2], t[3], t[4], (int) t[5]));
+        }
+        return result;
+    }
+
+    /**
+     * Sets every counter back to zero.
+     */
+    public static void reset() {
+        for (Counters c : ALL) {
+            c.calls = c.comparisons = c.swaps = c.moves = c.allocated = 0;
+            c.maxDepth = 0;
+        }
+    }
+
+    /**
+     * @return the counters as a text table, one line per algorithm
+     */
+    public static String dump() {
+        StringBuilder out = new StringBuilder(String.format("%-16s %10s %16s %16s %16s %14s %9s%n",
+                "algorithm", "calls", "comparisons", "swaps", "moves", "allocated", "max depth"));
+        for (Snapshot s : snapshot()) {
+            out.append(String.format("%-16s %10d %16d %16d %16d %14d %9d%n", s.getAlgorithm(), s.getCalls(),
+                    s.getComparisons(), s.getSwaps(), s.getMoves(), s.getAllocatedElements(), s.getMaxRecursionDepth()));
+        }
+        return out.toString();
+    }
+
+    /**
+     * One thread's counts for one algorithm. Written only by its thread.
+     */
+    static final class Counters {
+        final String algorithm;
+        long calls;
+        long comparisons;
+        long swaps;
+        long moves;
+        long allocated;
+        int depth;
+        int maxDepth;
+
+        Counters(String algorithm) {
+            this.algorithm = algorithm;
+        }
+
+        /**
+         * Records entering one more level of recursion.
+         */
+        void enter() {
+            if (++depth > maxDepth) maxDepth = depth;
+        }
+
+        void exit() {
+            depth--;
+        }
+    }
+
+    private static final class ThreadState {
+        final Map<String, Counters> byAlgorithm = new HashMap<>();
+        // Calls in progress, innermost last
+        Counters[] stack = new Counters[8];
+        int depth;
+
+        Counters counters(String algorithm) {
+            Counters counters = byAlgorithm.get(algorithm);
+            if (counters == null) {
+                counters = new Counters(algorithm);
+                byAlgorithm.put(algorithm, counters);
+                ALL.add(counters);
+            }
+            return counters;
+        }
+    }
+
+    /**
+     * Totals for one algorithm at the time of the snapshot.
+     */
+    public static final class Snapshot {
+        private final String algorithm;
+        private final long calls;
+        private final long comparisons;
+        private final long swaps;
+        private final long moves;
+        private final long allocatedElements;
+        private final int maxRecursionDepth;
+
+        @ConstructorParameters({"algorithm", "calls", "comparisons", "swaps", "moves", "allocatedElements", "maxRecursionDepth"})
+        public Snapshot(String algorithm, long calls, long comparisons, long swaps, long moves,
+                        long allocatedElements, int maxRecursionDepth) {
+            this.algorithm = algorithm;
+            this.calls = calls;
+            this.comparisons = comparisons;
+            this.swaps = swaps;
+            this.moves = moves;
+            this.allocatedElements = allocatedElements;
+            this.maxRecursionDepth = maxRecursionDepth;
+        }
+
+        public String getAlgorithm() {
+            return algorithm;
+        }
+
+        public long getCalls() {
+            return calls;
+        }
+
+        public long getComparisons() {
+            return comparisons;
+        }
+
+        public long getSwaps() {
+            return swaps;
+        }
+
+        public long getMoves() {
+            return moves;
+        }
+
+        /**
+         * @return elements of temporary arrays allocated by the algorithm
+         */
+        public long getAllocatedElements() {
+            return allocatedElements;
+        }
+
+        public int getMaxRecursionDepth() {
+            return maxRecursionDepth;
+        }
+    }
+
+    private static final class Bean implements EngineMetricsMXBean {
+        @Override
+        public boolean isEnabled() {
+            return ENABLED;
+        }
+
+        @Override
+        public List<Snapshot> getAlgorithms() {
+            return snapshot();
+        }
+
+        @Override
+        public String dump() {
+            return Metrics.dump();
+        }
+
+        @Override
+        public void reset() {
+            Metrics.reset();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package engine;
+
+import engine.primitive.LongRadixCoSorter;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Objects;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * ENGINE: Key-Caching Object Sort
+ *
+ * DESCRIPTION:
+ * Sorts objects by a numeric key without a Comparator in the inner loop.
+ * Sorting records with Comparator.comparingDouble(Row::score) calls the key
+ * function twice per comparison, about 2 n log n calls, and each one follows
+ * a pointer to a record scattered somewhere on the heap. This front end does
+ * the Schwartzian transform instead:
+ *
+ * 1. Extract every key once into a primitive array (n calls).
+ * 2. Co-sort the keys with an int[] of positions using a primitive engine,
+ *    touching only the two compact arrays.
+ * 3. Apply the resulting permutation to the objects in one pass.
+ *
+ * sortByDouble uses a CoSorter (RadixCoSorter unless another is given).
+ * sortByLong uses LongRadixCoSorter, so long keys such as timestamps or ids
+ * stay exact; int keys can use it too. With the default engines the sort is
+ * stable: objects with equal keys keep their order. NaN keys go last.
+ *
+ * TIME COMPLEXITY: O(n) key extractions plus the engine's sort
+ * SPACE COMPLEXITY: O(n): one key and one int per object, plus a copy of the
+ *                   references while the permutation is applied
+ */
+public class ObjectSorter {
+    private final CoSorter coSorter;
+    private final LongRadixCoSorter longCoSorter = new LongRadixCoSorter();
+
+    public ObjectSorter() {
+        this(new RadixCoSorter());
+    }
+
+    /**
+     * @param coSorter engine for double keys; the sort is only stable if the
+     *                 engine is (see Engines.coSorter)
+     */
+    public ObjectSorter(CoSorter coSorter) {
+        this.coSorter = Objects.requireNonNull(coSorter);
+    }
+
+    /**
+     * Sorts items[from, to) by ascending key, calling key once per item.
+     *
+     * @throws IndexOutOfBoundsException if the range is not inside the array
+     */
+    public <T> void sortByDouble(T[] items, int from, int to, ToDoubleFunction<? super T> key) {
+        Objects.checkFromToIndex(from, to, items.length);
+
+        int n = to - from;
+        double[] keys = new double[n];
+        for (int i = 0; i < n; i++) keys[i] = key.applyAsDouble(items[from + i]);
+
+        int[] order = identity(n);
+        coSorter.sort(keys, order);
+        permute(items, from, order);
+    }
+
+    public <T> void sortByDouble(T[] items, ToDoubleFunction<? super T> key) {
+        sortByDouble(items, 0, items.length, key);
+    }
+
+    /**
+     * Sorts the list by ascending key, calling key once per item.
+     */
+    public <T> void sortByDouble(List<T> items, ToDoubleFunction<? super T> key) {
+        Object[] array = items.toArray();
+        sortByDouble(array, 0, array.length, element -> key.applyAsDouble(cast(element)));
+        writeBack(items, array);
+    }
+
+    /**
+     * Sorts items[from, to) by ascending long key, calling key once per item.
+     * The comparison is exact over the whole long range.
+     *
+     * @throws IndexOutOfBoundsException if the range is not inside the array
+     */
+    public <T> void sortByLong(T[] items, int from, int to, ToLongFunction<? super T> key) {
+        Objects.checkFromToIndex(from, to, items.length);
+
+        int n = to - from;
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) keys[i] = key.applyAsLong(items[from + i]);
+
+        int[] order = identity(n);
+        longCoSorter.sort(keys, order);
+        permute(items, from, order);
+    }
+
+    public <T> void sortByLong(T[] items, ToLongFunction<? super T> key) {
+        sortByLong(items, 0, items.length, key);
+    }
+
+    /**
+     * Sorts the list by ascending long key, calling key once per item.
+     */
+    public <T> void sortByLong(List<T> items, ToLongFunction<? super T> key) {
+        Object[] array = items.toArray();
+        sortByLong(array, 0, array.length, element -> key.applyAsLong(cast(element)));
+        writeBack(items, array);
+    }
+
+    private static int[] identity(int n) {
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        return order;
+    }
+
+    /**
+     * Rearranges items[from, from + n) so that position i receives the item
+     * that was at from + order[i].
+     */
+    private static <T> void permute(T[] items, int from, int[] order) {
+        T[] original = Arrays.copyOfRange(items, from, from + order.length);
+        for (int i = 0; i < order.length; i++) items[from + i] = original[order[i]];
+    }
+
+    /**
+     * Stores the sorted array back into the list, as Collections.sort does,
+     * so lists without random access are not indexed element by element.
+     */
+    private static <T> void writeBack(List<T> items, Object[] array) {
+        ListIterator<T> it = items.listIterator();
+        for (Object element : array) {
+            it.next();
+            it.set(cast(element));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T cast(Object element) {
+        return (T) element;
+    }
+}
@@ -0,0 +1,471 @@
+package engine;
+
+import java.util.Arrays;
+
+/**
+ * ENGINE: Online Sorted Array
+ *
+ * DESCRIPTION:
+ * A sorted collection of doubles that stays searchable while values keep
+ * arriving. Insertion Sort shows the online idea: insert each new value into
+ * a sorted prefix. Doing that in one flat array shifts O(n) elements per
+ * insert, which is hopeless for a stream of millions of values.
+ *
+ * Here the values live in a B+-tree that counts its elements:
+ *
+ * - Leaves are plain double[] arrays of up to LEAF sorted elements. An
+ *   insert shifts at most LEAF elements inside one leaf, and a full leaf
+ *   splits into two half-full ones.
+ * - Inner nodes hold up to FANOUT children, and for each child its largest
+ *   value and its number of elements. A bisection over the largest values
+ *   picks the child to descend into, and summing the counts to its left
+ *   turns a position inside a leaf into a global rank (and a rank back
+ *   into a leaf). A full inner node splits like a leaf.
+ * - A node that drops under a quarter full is merged with a neighbour when
+ *   the two fit in half a node, and an empty leaf is dropped.
+ *
+ * Splits and merges only touch the nodes on one root-to-leaf path, so no
+ * operation ever walks the whole structure.
+ *
+ * addAll merges a large batch in one linear pass (after radix-sorting the
+ * batch) and rebuilds the tree bottom-up, instead of inserting value by
+ * value.
+ *
+ * The values are stored in primitive arrays, so nothing is boxed.
+ *
+ * SEARCHING:
+ * search, lowerBound, upperBound and countInRange behave exactly as in
+ * BinarySearcher, with positions given as ranks (0 = smallest). search
+ * returns the lowest rank within EPSILON of the key. NaNs sort last, and
+ * -0.0 and 0.0 compare equal.
+ *
+ * Not thread-safe: concurrent writers, or a writer and readers, need
+ * external locking.
+ *
+ * TIME COMPLEXITY: O(LEAF + FANOUT * h) per insert or delete, O(log n +
+ *                  FANOUT * h) per search, where h = log(n / LEAF) /
+ *                  log(FANOUT / 4) is the height (2 or 3 levels for 100
+ *                  million elements); O(n + m) for addAll of m values (plus
+ *                  the sort)
+ * SPACE COMPLEXITY: O(n); nodes average at least a quarter full
+ */
+public final class OnlineSortedArray {
+    static final int LEAF = 1 << 10;
+    static final int FANOUT = 1 << 6;
+    // Leaves and inner nodes built by addAll start three quarters full, leaving room to grow
+    static final int FILL = LEAF / 4 * 3;
+    static final int INNER_FILL = FANOUT / 4 * 3;
+    // addAll merges instead of inserting one by one from this batch size up
+    static final int MERGE_RATIO = 16;
+
+    private static final BinarySearcher BINARY = new BinarySearcher();
+
+    private Node root = Node.leaf();
+    private int size;
+
+    public OnlineSortedArray() {
+    }
+
+    /**
+     * Creates a container holding the given values, which need not be sorted.
+     */
+    public OnlineSortedArray(double[] values) {
+        addAll(values);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Inserts value after every element that compares equal to it.
+     */
+    public void add(double value) {
+        Node sibling = insert(root, value);
+        if (sibling != null) {
+            // The root split: grow the tree by one level
+            Node top = Node.inner();
+            top.append(root, size + 1 - sibling.total());
+            top.append(sibling, sibling.total());
+            root = top;
+        }
+        size++;
+    }
+
+    /**
+     * Inserts every value. Batches of at least 1/MERGE_RATIO of the current
+     * size are sorted and merged with the contents in one pass.
+     */
+    public void addAll(double[] values) {
+        if ((long) values.length * MERGE_RATIO < size) {
+            for (double value : values) add(value);
+            return;
+        }
+
+        double[] batch = values.clone();
+        new RadixSorter().sort(batch);
+        double[] current = toArray();
+
+        double[] merged = new double[current.length + batch.length];
+        int i = 0, j = 0, k = 0;
+        while (i < current.length && j < batch.length) {
+            // Ties take the existing element first, as add does
+            merged[k++] = Double.compare(batch[j], current[i]) < 0 ? batch[j++] : current[i++];
+        }
+        while (i < current.length) merged[k++] = current[i++];
+        while (j < batch.length) merged[k++] = batch[j++];
+
+        rebuild(merged);
+    }
+
+    /**
+     * Removes the element search(key) would find.
+     *
+     * @return whether an element was removed
+     */
+    public boolean remove(double key) {
+        int rank = search(key);
+        if (rank == -1) return false;
+
+        removeRank(rank);
+        return true;
+    }
+
+    /**
+     * Removes the element of the given rank and returns it.
+     *
+     * @throws IndexOutOfBoundsException if rank is not in [0, size)
+     */
+    public double removeRank(int rank) {
+        checkRank(rank);
+        double value = delete(root, rank);
+        size--;
+
+        // Shrink the tree while the root has a single child
+        while (!root.isLeaf() && root.count == 1) root = root.children[0];
+        return value;
+    }
+
+    public void clear() {
+        root = Node.leaf();
+        size = 0;
+    }
+
+    /**
+     * @return the element of the given rank (0 = smallest)
+     * @throws IndexOutOfBoundsException if rank is not in [0, size)
+     */
+    public double get(int rank) {
+        checkRank(rank);
+        Node node = root;
+        while (!node.isLeaf()) {
+            int c = 0;
+            while (rank >= node.sizes[c]) rank -= node.sizes[c++];
+            node = node.children[c];
+        }
+        return node.values[rank];
+    }
+
+    /**
+     * @return the lowest rank of an element within EPSILON of key, or -1
+     */
+    public int search(double key) {
+        Node node = root;
+        int rank = 0;
+        while (!node.isLeaf()) {
+            int c = BinarySearcher.firstMatchCandidate(node.lastKeys, 0, node.count, key);
+            if (c == node.count) return -1;
+            rank += node.sizeBefore(c);
+            node = node.children[c];
+        }
+        int i = BinarySearcher.firstMatchCandidate(node.values, 0, node.count, key);
+        return i < node.count && Math.abs(node.values[i] - key) < Searcher.EPSILON ? rank + i : -1;
+    }
+
+    /**
+     * @return the rank of the first element not less than key, or size
+     */
+    public int lowerBound(double key) {
+        Node node = root;
+        int rank = 0;
+        while (!node.isLeaf()) {
+            int c = BINARY.lowerBound(node.lastKeys, 0, node.count, key);
+            if (c == node.count) return size;
+            rank += node.sizeBefore(c);
+            node = node.children[c];
+        }
+        return rank + BINARY.lowerBound(node.values, 0, node.count, key);
+    }
+
+    /**
+     * @return the rank of the first element greater than key, or size
+     */
+    public int upperBound(double key) {
+        Node node = root;
+        int rank = 0;
+        while (!node.isLeaf()) {
+            int c = BINARY.upperBound(node.lastKeys, 0, node.count, key);
+            if (c == node.count) return size;
+            rank += node.sizeBefore(c);
+            node = node.children[c];
+        }
+        return rank + BINARY.upperBound(node.values, 0, node.count, key);
+    }
+
+    /**
+     * @return the number of elements x with low <= x < high; 0 if high <= low
+     *         or either bound is NaN
+     */
+    public int countInRange(double low, double high) {
+        if (!(low < high)) return 0;
+        return lowerBound(high) - lowerBound(low);
+    }
+
+    /**
+     * @return the elements in ascending order
+     */
+    public double[] toArray() {
+        double[] result = new double[size];
+        copyTo(root, result, 0);
+        return result;
+    }
+
+    private void checkRank(int rank) {
+        if (rank < 0 || rank >= size) throw new IndexOutOfBoundsException("Rank " + rank + " out of bounds for size " + size);
+    }
+
+    /**
+     * Inserts value below node.
+     *
+     * @return the new right half if node split, otherwise null
+     */
+    private static Node insert(Node node, double value) {
+        if (node.isLeaf()) {
+            int i = BINARY.upperBound(node.values, 0, node.count, value);
+            System.arraycopy(node.values, i, node.values, i + 1, node.count - i);
+            node.values[i] = value;
+            node.count++;
+            return node.count == LEAF ? node.split() : null;
+        }
+
+        int c = Math.min(BINARY.upperBound(node.lastKeys, 0, node.count, value), node.count - 1);
+        Node child = node.children[c];
+        Node sibling = insert(child, value);
+        node.sizes[c]++;
+        node.lastKeys[c] = child.lastKey();
+        if (sibling != null) {
+            int moved = sibling.total();
+            node.sizes[c] -= moved;
+            node.insert(c + 1, sibling, moved);
+            if (node.count == FANOUT) return node.split();
+        }
+        return null;
+    }
+
+    /**
+     * Removes the element of the given rank below node and returns it.
+     */
+    private static double delete(Node node, int rank) {
+        if (node.isLeaf()) {
+            double value = node.values[rank];
+            System.arraycopy(node.values, rank + 1, node.values, rank, node.count - rank - 1);
+            node.count--;
+            return value;
+        }
+
+        int c = 0;
+        while (rank >= node.sizes[c]) rank -= node.sizes[c++];
+        Node child = node.children[c];
+        double value = delete(child, rank);
+        node.sizes[c]--;
+
+        if (child.count == 0) {
+            node.remove(c);
+        } else {
+            node.lastKeys[c] = child.lastKey();
+            if (child.count < child.capacity() / 4) {
+                if (c + 1 < node.count && child.count + node.children[c + 1].count <= child.capacity() / 2) {
+                    node.mergeChildren(c);
+                } else if (c > 0 && node.children[c - 1].count + child.count <= child.capacity() / 2) {
+                    node.mergeChildren(c - 1);
+                }
+            }
+        }
+        return value;
+    }
+
+    private static int copyTo(Node node, double[] dst, int pos) {
+        if (node.isLeaf()) {
+            System.arraycopy(node.values, 0, dst, pos, node.count);
+            return pos + node.count;
+        }
+        for (int c = 0; c < node.count; c++) pos = copyTo(node.children[c], dst, pos);
+        return pos;
+    }
+
+    /**
+     * Replaces the contents with the sorted values, in leaves FILL full and
+     * inner nodes INNER_FILL full.
+     */
+    private void rebuild(double[] values) {
+        int n = values.length;
+        size = n;
+        if (n == 0) {
+            root = Node.leaf();
+            return;
+        }
+
+        int count = (n + FILL - 1) / FILL;
+        Node[] level = new Node[count];
+        int[] sizes = new int[count];
+        for (int l = 0; l < count; l++) {
+            int from = (int) ((long) n * l / count);
+            int to = (int) ((long) n * (l + 1) / count);
+            Node leaf = Node.leaf();
+            System.arraycopy(values, from, leaf.values, 0, to - from);
+            leaf.count = to - from;
+            level[l] = leaf;
+            sizes[l] = to - from;
+        }
+
+        while (count > 1) {
+            int parents = (count + INNER_FILL - 1) / INNER_FILL;
+            Node[] upper = new Node[parents];
+            int[] upperSizes = new int[parents];
+            for (int p = 0; p < parents; p++) {
+                int from = (int) ((long) count * p / parents);
+                int to = (int) ((long) count * (p + 1) / parents);
+                Node parent = Node.inner();
+                for (int c = from; c < to; c++) {
+                    parent.append(level[c], sizes[c]);
+                    upperSizes[p] += sizes[c];
+                }
+                upper[p] = parent;
+            }
+            level = upper;
+            sizes = upperSizes;
+            count = parents;
+        }
+        root = level[0];
+    }
+
+    /**
+     * A leaf (values) or an inner node (children, with the element count and
+     * largest value of each).
+     */
+    private static final class Node {
+        final double[] values;
+        final Node[] children;
+        final int[] sizes;
+        final double[] lastKeys;
+        int count; // Values or children in use
+
+        private Node(double[] values, Node[] children, int[] sizes, double[] lastKeys) {
+            this.values = values;
+            this.children = children;
+            this.sizes = sizes;
+            this.lastKeys = lastKeys;
+        }
+
+        static Node leaf() {
+            return new Node(new double[LEAF], null, null, null);
+        }
+
+        static Node inner() {
+            return new Node(null, new Node[FANOUT], new int[FANOUT], new double[FANOUT]);
+        }
+
+        boolean isLeaf() {
+            return children == null;
+        }
+
+        int capacity() {
+            return isLeaf() ? LEAF : FANOUT;
+        }
+
+        double lastKey() {
+            return isLeaf() ? values[count - 1] : lastKeys[count - 1];
+        }
+
+        /**
+         * @return the number of elements below this node
+         */
+        int total() {
+            return isLeaf() ? count : sizeBefore(count);
+        }
+
+        /**
+         * @return the number of elements in children[0, c)
+         */
+        int sizeBefore(int c) {
+            int sum = 0;
+            for (int i = 0; i < c; i++) sum += sizes[i];
+            return sum;
+        }
+
+        void append(Node child, int childSize) {
+            insert(count, child, childSize);
+        }
+
+        void insert(int c, Node child, int childSize) {
+            System.arraycopy(children, c, children, c + 1, count - c);
+            System.arraycopy(sizes, c, sizes, c + 1, count - c);
+            System.arraycopy(lastKeys, c, lastKeys, c + 1, count - c);
+            children[c] = child;
+            sizes[c] = childSize;
+            lastKeys[c] = child.lastKey();
+            count++;
+        }
+
+        void remove(int c) {
+            int moved = count - c - 1;
+            System.arraycopy(children, c + 1, children, c, moved);
+            System.arraycopy(sizes, c + 1, sizes, c, moved);
+            System.arraycopy(lastKeys, c + 1, lastKeys, c, moved);
+            children[--count] = null;
+        }
+
+        /**
+         * Moves the upper half into a new node and returns it.
+         */
+        Node split() {
+            int half = count / 2, moved = count - half;
+            Node upper;
+            if (isLeaf()) {
+                upper = leaf();
+                System.arraycopy(values, half, upper.values, 0, moved);
+            } else {
+                upper = inner();
+                System.arraycopy(children, half, upper.children, 0, moved);
+                System.arraycopy(sizes, half, upper.sizes, 0, moved);
+                System.arraycopy(lastKeys, half, upper.lastKeys, 0, moved);
+                Arrays.fill(children, half, count, null);
+            }
+            upper.count = moved;
+            count = half;
+            return upper;
+        }
+
+        /**
+         * Appends children[c + 1] to children[c] and drops it.
+         */
+        void mergeChildren(int c) {
+            Node left = children[c], right = children[c + 1];
+            if (left.isLeaf()) {
+                System.arraycopy(right.values, 0, left.values, left.count, right.count);
+            } else {
+                System.arraycopy(right.children, 0, left.children, left.count, right.count);
+                System.arraycopy(right.sizes, 0, left.sizes, left.count, right.count);
+                System.arraycopy(right.lastKeys, 0, left.lastKeys, left.count, right.count);
+            }
+            left.count += right.count;
+            sizes[c] += sizes[c + 1];
+            lastKeys[c] = lastKeys[c + 1];
+            remove(c + 1);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package engine;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ENGINE: Parallel Linear Search
+ *
+ * DESCRIPTION:
+ * Linear search spread over a ForkJoinPool, still reporting the lowest
+ * matching index like the sequential loop.
+ *
+ * The range is cut into blocks of BLOCK elements. Every worker repeatedly
+ * claims the lowest unclaimed block from a shared counter and scans it with
+ * the block searcher (the vectorized scan when it is available). Because
+ * blocks are handed out in increasing order:
+ *
+ * - Once a match is known, a worker that claims a block starting past it
+ *   stops; that block and every later one can only hold higher indices.
+ * - Every block below the match has already been claimed and is scanned to
+ *   the end, so a lower match cannot be missed. The smallest hit wins.
+ *
+ * All cores therefore sweep the array front to back together: a miss takes
+ * about 1/p of the sequential time, and an early match stops everyone
+ * within one block. Ranges below PARALLEL_THRESHOLD are scanned directly on
+ * the calling thread.
+ *
+ * TIME COMPLEXITY: O(n) work, O(n / p + BLOCK) latency on p threads
+ * SPACE COMPLEXITY: O(p)
+ */
+public class ParallelLinearSearcher implements Searcher {
+    static final int PARALLEL_THRESHOLD = 1 << 17;
+    static final int BLOCK = 1 << 14;
+
+    private final ForkJoinPool pool;
+    private final Searcher blockSearcher;
+
+    public ParallelLinearSearcher() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ParallelLinearSearcher(ForkJoinPool pool) {
+        this(pool, Engines.searcher("vector-linear"));
+    }
+
+    /**
+     * @param blockSearcher first-match scan used inside each block; it must
+     *                      return the lowest matching index of its range
+     */
+    public ParallelLinearSearcher(ForkJoinPool pool, Searcher blockSearcher) {
+        this.pool = Objects.requireNonNull(pool);
+        this.blockSearcher = Objects.requireNonNull(blockSearcher);
+    }
+
+    @Override
+    public int search(double[] arr, int from, int to, double key) {
+        Objects.checkFromToIndex(from, to, arr.length);
+
+        int n = to - from;
+        if (n < PARALLEL_THRESHOLD || pool.getParallelism() == 1) {
+            return blockSearcher.search(arr, from, to, key);
+        }
+
+        int blocks = (int) (((long) n + BLOCK - 1) / BLOCK);
+        AtomicInteger nextBlock = new AtomicInteger();
+        AtomicInteger found = new AtomicInteger(Integer.MAX_VALUE);
+
+        ForkJoinTask<?>[] workers = new ForkJoinTask<?>[Math.min(pool.getParallelism(), blocks)];
+        for (int w = 0; w < workers.length; w++) {
+            workers[w] = ForkJoinTask.adapt(() -> {
+                for (int b; (b = nextBlock.getAndIncrement()) < blocks; ) {
+                    int start = from + b * BLOCK;
+                    if (start > found.get()) return; // Only higher indices from here on
+
+                    int index = blockSearcher.search(arr, start, Math.min(start + BLOCK, to), key);
+                    if (index != -1) {
+                        found.accumulateAndGet(index, Math::min);
+                        return;
+                    }
+                }
+            });
+        }
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(workers)));
+
+        int index = found.get();
+        return index == Integer.MAX_VALUE ? -1 : index;
+    }
+}
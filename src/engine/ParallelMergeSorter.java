@@ -0,0 +1,230 @@
+package engine;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * ENGINE: Parallel Merge Sort
+ *
+ * DESCRIPTION:
+ * Fork/join version of MergeSorter. The two recursive sorts run as separate
+ * tasks, and large merges are split into independent halves as well: take the
+ * middle element of the longer run, binary-search its position in the other
+ * run, and merge the two sides in parallel. Below the cutoffs everything runs
+ * sequentially on the current thread.
+ *
+ * The sort ping-pongs between the array and one scratch buffer as long as the
+ * sorted range, so each level of recursion merges from one into the other
+ * without copying back.
+ *
+ * STABILITY:
+ * Equal elements keep their relative order, exactly as with MergeSorter:
+ * sequential merges take from the left run on ties, and merge splits never
+ * move a right-run element ahead of an equal left-run element.
+ *
+ * NaN values are moved to the end of the range (in their original order)
+ * before sorting.
+ *
+ * TIME COMPLEXITY: O(n log n) work, O(log³ n) span
+ * SPACE COMPLEXITY: O(n)
+ */
+public class ParallelMergeSorter implements Sorter {
+    static final int INSERTION_CUTOFF = 32;
+    static final int SORT_CUTOFF = 1 << 13;
+    static final int MERGE_CUTOFF = 1 << 13;
+
+    private final ForkJoinPool pool;
+
+    public ParallelMergeSorter() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ParallelMergeSorter(ForkJoinPool pool) {
+        this.pool = Objects.requireNonNull(pool);
+    }
+
+    @Override
+    public void sort(double[] arr, int from, int to) {
+        Objects.checkFromToIndex(from, to, arr.length);
+
+        to = SortUtils.moveNaNsToEnd(arr, from, to);
+        if (to - from < 2) return;
+
+        Metrics.Counters c = Metrics.ENABLED ? Metrics.begin("parallel-merge") : null;
+        // Scratch buffer covers only the range: logical index i lives at buffer[i - from]
+        double[] buffer = new double[to - from];
+        if (Metrics.ENABLED) c.allocated += buffer.length;
+        SortTask task = new SortTask(arr, buffer, from, from, to, false);
+        if (to - from <= SORT_CUTOFF) {
+            task.compute();
+        } else {
+            pool.invoke(task);
+        }
+        if (Metrics.ENABLED) Metrics.end();
+    }
+
+    /**
+     * Sorts arr[lo, hi). The result ends up in the buffer when toBuffer is
+     * set, otherwise back in arr.
+     */
+    private static final class SortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final double[] arr, buffer;
+        private final int base, lo, hi;
+        private final boolean toBuffer;
+
+        SortTask(double[] arr, double[] buffer, int base, int lo, int hi, boolean toBuffer) {
+            this.arr = arr;
+            this.buffer = buffer;
+            this.base = base;
+            this.lo = lo;
+            this.hi = hi;
+            this.toBuffer = toBuffer;
+        }
+
+        @Override
+        protected void compute() {
+            if (Metrics.ENABLED) Metrics.attach("parallel-merge");
+            sortRange();
+            if (Metrics.ENABLED) Metrics.end();
+        }
+
+        private void sortRange() {
+            if (hi - lo <= SORT_CUTOFF) {
+                sortSequential(arr, buffer, base, lo, hi, toBuffer);
+                return;
+            }
+
+            // The children leave their halves in the array this level merges from
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new SortTask(arr, buffer, base, lo, mid, !toBuffer),
+                      new SortTask(arr, buffer, base, mid, hi, !toBuffer));
+
+            if (toBuffer) {
+                new MergeTask(arr, 0, lo, mid, mid, hi, buffer, base, lo).compute();
+            } else {
+                new MergeTask(buffer, base, lo, mid, mid, hi, arr, 0, lo).compute();
+            }
+        }
+    }
+
+    /**
+     * Merges the runs [l1, h1) and [l2, h2) of from into into starting at
+     * out. Indices are logical; each array is addressed at index - its base.
+     */
+    private static final class MergeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final double[] from, into;
+        private final int fromBase, intoBase;
+        private final int l1, h1, l2, h2, out;
+
+        MergeTask(double[] from, int fromBase, int l1, int h1, int l2, int h2,
+                  double[] into, int intoBase, int out) {
+            this.from = from;
+            this.fromBase = fromBase;
+            this.l1 = l1;
+            this.h1 = h1;
+            this.l2 = l2;
+            this.h2 = h2;
+            this.into = into;
+            this.intoBase = intoBase;
+            this.out = out;
+        }
+
+        @Override
+        protected void compute() {
+            if (Metrics.ENABLED) Metrics.attach("parallel-merge");
+            mergeRange();
+            if (Metrics.ENABLED) Metrics.end();
+        }
+
+        private void mergeRange() {
+            int n1 = h1 - l1;
+            int n2 = h2 - l2;
+            if (n1 + n2 <= MERGE_CUTOFF) {
+                merge(from, fromBase, l1, h1, l2, h2, into, intoBase, out);
+                return;
+            }
+
+            int m1, m2;
+            if (n1 >= n2) {
+                // Split the left run in the middle; right elements equal to
+                // the split value must stay after it, so use the lower bound
+                m1 = (l1 + h1) >>> 1;
+                m2 = lowerBound(from, fromBase, l2, h2, from[m1 - fromBase]);
+            } else {
+                // Split the right run in the middle; left elements equal to
+                // the split value must stay before it, so use the upper bound
+                m2 = (l2 + h2) >>> 1;
+                m1 = upperBound(from, fromBase, l1, h1, from[m2 - fromBase]);
+            }
+
+            int split = out + (m1 - l1) + (m2 - l2);
+            invokeAll(new MergeTask(from, fromBase, l1, m1, l2, m2, into, intoBase, out),
+                      new MergeTask(from, fromBase, m1, h1, m2, h2, into, intoBase, split));
+        }
+    }
+
+    private static void sortSequential(double[] arr, double[] buffer, int base, int lo, int hi, boolean toBuffer) {
+        int n = hi - lo;
+        if (n <= INSERTION_CUTOFF) {
+            SortUtils.insertionSort(arr, lo, hi);
+            if (toBuffer) System.arraycopy(arr, lo, buffer, lo - base, n);
+            return;
+        }
+
+        int mid = (lo + hi) >>> 1;
+        sortSequential(arr, buffer, base, lo, mid, !toBuffer);
+        sortSequential(arr, buffer, base, mid, hi, !toBuffer);
+
+        if (toBuffer) {
+            merge(arr, 0, lo, mid, mid, hi, buffer, base, lo);
+        } else {
+            merge(buffer, base, lo, mid, mid, hi, arr, 0, lo);
+        }
+    }
+
+    private static void merge(double[] from, int fromBase, int l1, int h1, int l2, int h2,
+                              double[] into, int intoBase, int out) {
+        int i = l1 - fromBase, end1 = h1 - fromBase;
+        int j = l2 - fromBase, end2 = h2 - fromBase;
+        int k = out - intoBase;
+        if (Metrics.ENABLED) Metrics.current().moves += (end1 - i) + (end2 - j);
+
+        // Take from the left run on ties to keep the sort stable
+        while (i < end1 && j < end2) {
+            if (from[i] <= from[j]) {
+                into[k++] = from[i++];
+            } else {
+                into[k++] = from[j++];
+            }
+        }
+
+        // Copy whichever run has elements left
+        if (i < end1) System.arraycopy(from, i, into, k, end1 - i);
+        if (j < end2) System.arraycopy(from, j, into, k, end2 - j);
+    }
+
+    /** First logical index in [lo, hi) whose element is not less than key. */
+    private static int lowerBound(double[] arr, int base, int lo, int hi, double key) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (arr[mid - base] < key) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /** First logical index in [lo, hi) whose element is greater than key. */
+    private static int upperBound(double[] arr, int base, int lo, int hi, double key) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (arr[mid - base] <= key) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,246 @@
+package engine;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * ENGINE: Parallel Quick Sort
+ *
+ * DESCRIPTION:
+ * Fork/join version of IntroSorter that sorts in place, without the O(n)
+ * scratch buffer ParallelMergeSorter needs.
+ *
+ * - After each partition the two sides are independent and run as separate
+ *   ForkJoin tasks; idle workers steal whichever side is waiting.
+ * - The top partitions, where a single thread would otherwise scan the whole
+ *   array while the rest wait, are parallel themselves (see below).
+ * - Ranges of SEQUENTIAL_CUTOFF elements or fewer are handed to IntroSorter
+ *   on the current thread.
+ *
+ * PARALLEL PARTITION (ranges above PARALLEL_PARTITION_CUTOFF):
+ * 1. Cut the range into blocks and partition every block on its own, in
+ *    parallel: [block start, mid) < pivot, [mid, block end) >= pivot.
+ * 2. The total number of "< pivot" elements gives the global split point s.
+ *    Elements >= pivot that sit before s and elements < pivot that sit after
+ *    s are misplaced, and there are exactly as many of one as of the other.
+ * 3. Swap the k-th misplaced element on the left with the k-th on the right,
+ *    again in parallel over ranges of k.
+ * Only a few ints per block are allocated; the data never leaves the array.
+ *
+ * If a partition puts almost nothing left of the pivot (duplicate-heavy data
+ * or a poor pivot), the right side is partitioned once more into == pivot and
+ * > pivot, and the == pivot part is finished.
+ *
+ * NaN values are moved to the end of the range before sorting.
+ *
+ * TIME COMPLEXITY: O(n log n) work
+ * SPACE COMPLEXITY: O(log n) stack plus O(blocks) per parallel partition
+ */
+public class ParallelQuickSorter implements Sorter {
+    static final int SEQUENTIAL_CUTOFF = 1 << 13;
+    static final int PARALLEL_PARTITION_CUTOFF = 1 << 18;
+    static final int MIN_BLOCK = 1 << 14;
+
+    private final ForkJoinPool pool;
+
+    public ParallelQuickSorter() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ParallelQuickSorter(ForkJoinPool pool) {
+        this.pool = Objects.requireNonNull(pool);
+    }
+
+    @Override
+    public void sort(double[] arr, int from, int to) {
+        Objects.checkFromToIndex(from, to, arr.length);
+
+        to = SortUtils.moveNaNsToEnd(arr, from, to);
+        int n = to - from;
+        if (n < 2) return;
+
+        if (Metrics.ENABLED) Metrics.begin("parallel-quick");
+        if (n <= SEQUENTIAL_CUTOFF) {
+            IntroSorter.introSort(arr, from, to, IntroSorter.depthLimit(n));
+        } else {
+            pool.invoke(new SortTask(arr, from, to, IntroSorter.depthLimit(n), pool.getParallelism()));
+        }
+        if (Metrics.ENABLED) Metrics.end();
+    }
+
+    private static final class SortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final double[] arr;
+        private final int lo, hi, depth, parallelism;
+
+        SortTask(double[] arr, int lo, int hi, int depth, int parallelism) {
+            this.arr = arr;
+            this.lo = lo;
+            this.hi = hi;
+            this.depth = depth;
+            this.parallelism = parallelism;
+        }
+
+        @Override
+        protected void compute() {
+            if (Metrics.ENABLED) Metrics.attach("parallel-quick");
+            sortRange();
+            if (Metrics.ENABLED) Metrics.end();
+        }
+
+        private void sortRange() {
+            int n = hi - lo;
+            if (n <= SEQUENTIAL_CUTOFF || depth == 0) {
+                // IntroSorter switches to heap sort by itself when depth is 0
+                IntroSorter.introSort(arr, lo, hi, depth);
+                return;
+            }
+
+            if (n < PARALLEL_PARTITION_CUTOFF) {
+                int p = IntroSorter.partition(arr, lo, hi);
+                invokeAll(new SortTask(arr, lo, p, depth - 1, parallelism),
+                          new SortTask(arr, p + 1, hi, depth - 1, parallelism));
+                return;
+            }
+
+            double pivot = arr[IntroSorter.choosePivot(arr, lo, hi)];
+
+            // [lo, split) < pivot <= [split, hi)
+            int split = parallelPartition(arr, lo, hi, pivot, false, parallelism);
+            int rightStart = split;
+
+            if (split - lo < n >>> 4) {
+                // Almost nothing below the pivot: peel off the keys equal to it
+                rightStart = parallelPartition(arr, split, hi, pivot, true, parallelism);
+            }
+
+            invokeAll(new SortTask(arr, lo, split, depth - 1, parallelism),
+                      new SortTask(arr, rightStart, hi, depth - 1, parallelism));
+        }
+    }
+
+    /**
+     * Partitions arr[lo, hi) in place so that elements matching the predicate
+     * (value < pivot, or value <= pivot when inclusive) come first, and returns
+     * the index of the first element that does not match.
+     */
+    static int parallelPartition(double[] arr, int lo, int hi, double pivot, boolean inclusive, int parallelism) {
+        int n = hi - lo;
+        int blocks = Math.max(1, Math.min(parallelism * 4, n / MIN_BLOCK));
+        if (blocks == 1) return partitionBlock(arr, lo, hi, pivot, inclusive);
+
+        int[] starts = new int[blocks + 1];
+        for (int b = 0; b <= blocks; b++) {
+            starts[b] = lo + (int) ((long) n * b / blocks);
+        }
+
+        // Phase 1: partition every block independently
+        int[] mids = new int[blocks];
+        ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[blocks];
+        for (int b = 0; b < blocks; b++) {
+            int block = b;
+            tasks[b] = ForkJoinTask.adapt(() -> {
+                mids[block] = partitionBlock(arr, starts[block], starts[block + 1], pivot, inclusive);
+            });
+        }
+        ForkJoinTask.invokeAll(tasks);
+
+        // Phase 2: global split point
+        int split = lo;
+        for (int b = 0; b < blocks; b++) split += mids[b] - starts[b];
+
+        // Misplaced runs: ">= pivot" parts before split, "< pivot" parts after it.
+        // Both lists are in index order, and both total the same count.
+        int[] leftFrom = new int[blocks], leftTo = new int[blocks];
+        int[] rightFrom = new int[blocks], rightTo = new int[blocks];
+        long[] leftPrefix = new long[blocks + 1], rightPrefix = new long[blocks + 1];
+        int leftRuns = 0, rightRuns = 0;
+
+        for (int b = 0; b < blocks; b++) {
+            int from = mids[b], to = Math.min(starts[b + 1], split);
+            if (from < to) {
+                leftFrom[leftRuns] = from;
+                leftTo[leftRuns] = to;
+                leftPrefix[leftRuns + 1] = leftPrefix[leftRuns] + (to - from);
+                leftRuns++;
+            }
+            from = Math.max(starts[b], split);
+            to = mids[b];
+            if (from < to) {
+                rightFrom[rightRuns] = from;
+                rightTo[rightRuns] = to;
+                rightPrefix[rightRuns + 1] = rightPrefix[rightRuns] + (to - from);
+                rightRuns++;
+            }
+        }
+
+        long misplaced = leftPrefix[leftRuns];
+        if (misplaced == 0) return split;
+
+        // Phase 3: swap the k-th misplaced element on each side, in parallel over k
+        int swapTasks = (int) Math.max(1, Math.min(blocks, misplaced / MIN_BLOCK));
+        ForkJoinTask<?>[] swappers = new ForkJoinTask<?>[swapTasks];
+        int lr = leftRuns, rr = rightRuns;
+        for (int t = 0; t < swapTasks; t++) {
+            long kFrom = misplaced * t / swapTasks;
+            long kTo = misplaced * (t + 1) / swapTasks;
+            swappers[t] = ForkJoinTask.adapt(() -> swapMisplaced(arr, kFrom, kTo,
+                    leftFrom, leftTo, leftPrefix, lr, rightFrom, rightTo, rightPrefix, rr));
+        }
+        ForkJoinTask.invokeAll(swappers);
+
+        return split;
+    }
+
+    /**
+     * Sequential two-pointer partition of one block.
+     */
+    private static int partitionBlock(double[] arr, int lo, int hi, double pivot, boolean inclusive) {
+        int i = lo, j = hi - 1;
+        while (true) {
+            while (i <= j && belowPivot(arr[i], pivot, inclusive)) i++;
+            while (i <= j && !belowPivot(arr[j], pivot, inclusive)) j--;
+            if (i >= j) return i;
+            SortUtils.swap(arr, i++, j--);
+        }
+    }
+
+    private static boolean belowPivot(double value, double pivot, boolean inclusive) {
+        return inclusive ? value <= pivot : value < pivot;
+    }
+
+    /**
+     * Swaps misplaced elements number kFrom to kTo - 1 on the left with the
+     * ones of the same number on the right.
+     */
+    private static void swapMisplaced(double[] arr, long kFrom, long kTo,
+                                      int[] leftFrom, int[] leftTo, long[] leftPrefix, int leftRuns,
+                                      int[] rightFrom, int[] rightTo, long[] rightPrefix, int rightRuns) {
+        int l = findRun(leftPrefix, leftRuns, kFrom);
+        int r = findRun(rightPrefix, rightRuns, kFrom);
+        int i = leftFrom[l] + (int) (kFrom - leftPrefix[l]);
+        int j = rightFrom[r] + (int) (kFrom - rightPrefix[r]);
+
+        for (long k = kFrom; k < kTo; k++) {
+            if (i == leftTo[l]) i = leftFrom[++l];
+            if (j == rightTo[r]) j = rightFrom[++r];
+            SortUtils.swap(arr, i++, j++);
+        }
+    }
+
+    /**
+     * Returns the run containing misplaced element number k.
+     */
+    private static int findRun(long[] prefix, int runs, long k) {
+        int lo = 0, hi = runs - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (prefix[mid] <= k) lo = mid;
+            else hi = mid - 1;
+        }
+        return lo;
+    }
+}
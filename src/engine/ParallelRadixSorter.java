@@ -0,0 +1,158 @@
+package engine;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * ENGINE: Parallel LSD Radix Sort
+ *
+ * DESCRIPTION:
+ * RadixSorter with the histogram and scatter steps of every pass spread over
+ * a ForkJoinPool. The range is cut into one chunk per task:
+ *
+ * 1. Each chunk counts its own digits (the first round counts all six
+ *    digits at once, which also tells which passes can be skipped).
+ * 2. Bucket start positions are assigned digit by digit, and within a digit
+ *    chunk by chunk. Each chunk therefore owns a private, contiguous slice
+ *    of every bucket.
+ * 3. Every chunk scatters its elements into its own slices, with no locking
+ *    and no shared counters.
+ *
+ * Because lower chunks always get the earlier slice of a bucket, each pass
+ * stays stable and the result is identical to RadixSorter's. Ranges shorter
+ * than PARALLEL_THRESHOLD use RadixSorter directly.
+ *
+ * TIME COMPLEXITY: O(n) work, O(n / p + RADIX * p) per pass on p threads
+ * SPACE COMPLEXITY: O(n + RADIX * p)
+ */
+public class ParallelRadixSorter implements Sorter {
+    static final int PARALLEL_THRESHOLD = 1 << 17;
+    static final int MIN_CHUNK = 1 << 15;
+
+    private static final int BITS = RadixSorter.BITS;
+    private static final int RADIX = RadixSorter.RADIX;
+    private static final int PASSES = RadixSorter.PASSES;
+
+    private final ForkJoinPool pool;
+
+    public ParallelRadixSorter() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ParallelRadixSorter(ForkJoinPool pool) {
+        this.pool = Objects.requireNonNull(pool);
+    }
+
+    @Override
+    public void sort(double[] arr, int from, int to) {
+        Objects.checkFromToIndex(from, to, arr.length);
+
+        int end = SortUtils.moveNaNsToEnd(arr, from, to);
+        int n = end - from;
+        if (n < 2) return;
+
+        Metrics.Counters counters = Metrics.ENABLED ? Metrics.begin("parallel-radix") : null;
+        if (n < PARALLEL_THRESHOLD) {
+            new RadixSorter().sort(arr, from, end);
+            if (Metrics.ENABLED) Metrics.end();
+            return;
+        }
+
+        int chunks = Math.max(1, Math.min(pool.getParallelism() * 2, n / MIN_CHUNK));
+        int[] starts = new int[chunks + 1];
+        for (int c = 0; c <= chunks; c++) {
+            starts[c] = (int) ((long) n * c / chunks);
+        }
+
+        // Round 1: every chunk counts all of its digits
+        int[][] counts = new int[chunks][PASSES * RADIX];
+        runChunks(chunks, c -> {
+            int[] local = counts[c];
+            for (int i = from + starts[c]; i < from + starts[c + 1]; i++) {
+                long key = RadixSorter.key(arr[i]);
+                for (int pass = 0; pass < PASSES; pass++) {
+                    local[pass * RADIX + RadixSorter.digit(key, pass)]++;
+                }
+            }
+        });
+
+        double[] buffer = new double[n];
+        if (Metrics.ENABLED) counters.allocated += (long) chunks * PASSES * RADIX + n;
+        double[] src = arr, dst = buffer;
+        int srcBase = from, dstBase = 0;
+        long firstKey = RadixSorter.key(arr[from]);
+        boolean countsFresh = true;
+
+        for (int pass = 0; pass < PASSES; pass++) {
+            int offset = pass * RADIX;
+            int firstDigit = RadixSorter.digit(firstKey, pass);
+            int total = 0;
+            for (int c = 0; c < chunks; c++) total += counts[c][offset + firstDigit];
+            if (total == n) continue; // Every element shares this digit
+
+            // Elements have moved since round 1: recount this digit per chunk
+            if (!countsFresh) {
+                double[] source = src;
+                int base = srcBase;
+                int shift = pass * BITS;
+                runChunks(chunks, c -> {
+                    int[] local = counts[c];
+                    Arrays.fill(local, offset, offset + RADIX, 0);
+                    for (int i = base + starts[c]; i < base + starts[c + 1]; i++) {
+                        local[offset + ((int) (RadixSorter.key(source[i]) >>> shift) & RadixSorter.MASK)]++;
+                    }
+                });
+            }
+
+            // Bucket slices: digit-major, then chunk order, which keeps the pass stable
+            int position = 0;
+            for (int d = 0; d < RADIX; d++) {
+                for (int c = 0; c < chunks; c++) {
+                    int count = counts[c][offset + d];
+                    counts[c][offset + d] = position;
+                    position += count;
+                }
+            }
+
+            double[] source = src, target = dst;
+            int sourceBase = srcBase, targetBase = dstBase;
+            int currentPass = pass;
+            runChunks(chunks, c -> {
+                int[] local = counts[c];
+                for (int i = sourceBase + starts[c]; i < sourceBase + starts[c + 1]; i++) {
+                    double value = source[i];
+                    target[targetBase + local[offset + RadixSorter.digit(RadixSorter.key(value), currentPass)]++] = value;
+                }
+            });
+
+            if (Metrics.ENABLED) counters.moves += n;
+
+            src = target;
+            dst = source;
+            srcBase = targetBase;
+            dstBase = sourceBase;
+            countsFresh = false;
+        }
+
+        if (src != arr) {
+            System.arraycopy(src, 0, arr, from, n);
+            if (Metrics.ENABLED) counters.moves += n;
+        }
+        if (Metrics.ENABLED) Metrics.end();
+    }
+
+    private interface ChunkBody {
+        void run(int chunk);
+    }
+
+    private void runChunks(int chunks, ChunkBody body) {
+        ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[chunks];
+        for (int c = 0; c < chunks; c++) {
+            int chunk = c;
+            tasks[c] = ForkJoinTask.adapt(() -> body.run(chunk));
+        }
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+    }
+}
@@ -0,0 +1,74 @@
+package engine;
+
+import java.util.Objects;
+
+/**
+ * ENGINE: Quick Sort
+ *
+ * DESCRIPTION:
+ * Lomuto partition around the last element of the range, then recursive sorts
+ * of both sides. This is the textbook version: sorted, reversed or
+ * duplicate-heavy input makes it quadratic and recurses n levels deep, which
+ * overflows the stack at a few thousand elements. Use IntroSorter for real
+ * data.
+ *
+ * TIME COMPLEXITY: O(n log n) average, O(n²) worst
+ * SPACE COMPLEXITY: O(log n) average, O(n) worst
+ */
+public class QuickSorter implements Sorter {
+
+    @Override
+    public void sort(double[] arr, int from, int to) {
+        Objects.checkFromToIndex(from, to, arr.length);
+        if (Metrics.ENABLED) Metrics.begin("lomuto-quick");
+        quickSort(arr, from, to - 1);
+        if (Metrics.ENABLED) Metrics.end();
+    }
+
+    private void quickSort(double[] arr, int low, int high) {
+        // Base case: if low < high, partition and recursively sort
+        if (low < high) {
+            Metrics.Counters c = Metrics.ENABLED ? Metrics.current() : null;
+            if (Metrics.ENABLED) c.enter();
+
+            // Partition the array and get the pivot index
+            int pi = partition(arr, low, high);
+
+            // Recursively sort elements before and after partition
+            quickSort(arr, low, pi - 1);
+            quickSort(arr, pi + 1, high);
+            if (Metrics.ENABLED) c.exit();
+        }
+    }
+
+    private int partition(double[] arr, int low, int high) {
+        // Choose the rightmost element as pivot
+        double pivot = arr[high];
+        int i = low - 1; // Index of smaller element
+
+        // Traverse through all elements
+        for (int j = low; j < high; j++) {
+            // If current element is smaller than pivot
+            if (arr[j] < pivot) {
+                i++; // increment index of smaller element
+                // Swap elements
+                double temp = arr[i];
+                arr[i] = arr[j];
+                arr[j] = temp;
+            }
+        }
+
+        // Place pivot in correct position
+        double temp = arr[i + 1];
+        arr[i + 1] = arr[high];
+        arr[high] = temp;
+
+        if (Metrics.ENABLED) {
+            Metrics.Counters c = Metrics.current();
+            c.comparisons += high - low;
+            c.swaps += i - low + 2;
+        }
+
+        return i + 1;
+    }
+}
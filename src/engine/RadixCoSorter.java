@@ -0,0 +1,93 @@
+package engine;
+
+import java.util.Objects;
+
+/**
+ * ENGINE: LSD Radix Sort (with payload)
+ *
+ * DESCRIPTION:
+ * RadixSorter that moves a payload array along with the keys: the same
+ * order-preserving key mapping, the same 11-bit digits, one histogram pass
+ * for all digits and the same skipping of passes where every key shares
+ * the digit. Each remaining pass scatters keys and payload together into one
+ * pair of scratch arrays, then the roles swap.
+ *
+ * Every pass is stable, so the sort is stable. Ranges shorter than
+ * RadixSorter.RADIX_THRESHOLD go to MergeCoSorter, which is stable as well;
+ * its zeros are then partitioned stably by sign, since it compares -0.0 and
+ * 0.0 as equal.
+ *
+ * ORDERING:
+ * Same as java.util.Arrays.sort: -0.0 before 0.0, NaN keys last (in their
+ * original order).
+ *
+ * TIME COMPLEXITY: O(n) (at most six passes)
+ * SPACE COMPLEXITY: O(n)
+ */
+public class RadixCoSorter implements CoSorter {
+
+    @Override
+    public void sort(double[] keys, int[] payload, int from, int to) {
+        Objects.checkFromToIndex(from, to, keys.length);
+        Objects.checkFromToIndex(from, to, payload.length);
+
+        to = SortUtils.moveNaNsToEnd(keys, payload, from, to);
+        int n = to - from;
+        if (n < RadixSorter.RADIX_THRESHOLD) {
+            if (n > 1) {
+                int half = (n + 1) / 2;
+                MergeCoSorter.mergeSort(keys, payload, from, to, new double[half], new int[half]);
+                SortUtils.orderZeros(keys, payload, from, to);
+            }
+            return;
+        }
+
+        int[] counts = new int[RadixSorter.PASSES * RadixSorter.RADIX];
+        for (int i = from; i < to; i++) {
+            long key = RadixSorter.key(keys[i]);
+            for (int pass = 0; pass < RadixSorter.PASSES; pass++) {
+                counts[pass * RadixSorter.RADIX + RadixSorter.digit(key, pass)]++;
+            }
+        }
+
+        double[] srcKeys = keys, dstKeys = new double[n];
+        int[] srcPayload = payload, dstPayload = new int[n];
+        int srcBase = from, dstBase = 0;
+        long firstKey = RadixSorter.key(keys[from]);
+
+        for (int pass = 0; pass < RadixSorter.PASSES; pass++) {
+            int offset = pass * RadixSorter.RADIX;
+            if (counts[offset + RadixSorter.digit(firstKey, pass)] == n) continue; // Every key shares this digit
+
+            int sum = 0;
+            for (int d = 0; d < RadixSorter.RADIX; d++) {
+                int count = counts[offset + d];
+                counts[offset + d] = sum;
+                sum += count;
+            }
+
+            for (int i = 0; i < n; i++) {
+                double key = srcKeys[srcBase + i];
+                int target = dstBase + counts[offset + RadixSorter.digit(RadixSorter.key(key), pass)]++;
+                dstKeys[target] = key;
+                dstPayload[target] = srcPayload[srcBase + i];
+            }
+
+            double[] tempKeys = srcKeys;
+            srcKeys = dstKeys;
+            dstKeys = tempKeys;
+            int[] tempPayload = srcPayload;
+            srcPayload = dstPayload;
+            dstPayload = tempPayload;
+            int tempBase = srcBase;
+            srcBase = dstBase;
+            dstBase = tempBase;
+        }
+
+        // An odd number of passes leaves the result in the scratch arrays
+        if (srcKeys != keys) {
+            System.arraycopy(srcKeys, 0, keys, from, n);
+            System.arraycopy(srcPayload, 0, payload, from, n);
+        }
+    }
+}
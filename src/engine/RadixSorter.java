@@ -0,0 +1,123 @@
+package engine;
+
+import java.util.Objects;
+
+/**
+ * ENGINE: LSD Radix Sort
+ *
+ * DESCRIPTION:
+ * Sorts doubles without comparing them. Each value is mapped to a 64-bit
+ * key whose unsigned order matches the numeric order:
+ *
+ *     bits = Double.doubleToRawLongBits(x)
+ *     key  = bits ^ ((bits >> 63) | Long.MIN_VALUE)
+ *
+ * For positive numbers this sets the sign bit, lifting them above every
+ * negative number. For negative numbers it flips all the bits, reversing
+ * their order, since a larger magnitude must sort lower.
+ *
+ * The keys are then sorted least-significant digit first, 11 bits per pass
+ * (six passes, 2048 buckets, so the counters fit in L1 cache):
+ *
+ * 1. One read pass builds the histograms of all six digits at once.
+ * 2. A pass is skipped when every element has the same digit in it, which
+ *    is common in the exponent bits of real data.
+ * 3. Each remaining pass scatters the values into a single scratch buffer,
+ *    then the roles of array and buffer swap.
+ *
+ * Keys are recomputed from the doubles on every pass, so the only extra
+ * memory is the one buffer. Ranges shorter than RADIX_THRESHOLD go to
+ * IntroSorter, where the fixed per-pass cost does not pay off, and then get
+ * their zeros put in order (IntroSorter treats -0.0 and 0.0 as equal).
+ *
+ * ORDERING:
+ * Same as java.util.Arrays.sort: -0.0 before 0.0, NaNs last. The sort is
+ * stable: the signed zeros are the only equal values that can be told
+ * apart, and all of them end up ordered by sign.
+ *
+ * TIME COMPLEXITY: O(n) (at most six passes)
+ * SPACE COMPLEXITY: O(n)
+ */
+public class RadixSorter implements Sorter {
+    static final int BITS = 11;
+    static final int RADIX = 1 << BITS;
+    static final int MASK = RADIX - 1;
+    static final int PASSES = (Long.SIZE + BITS - 1) / BITS;
+    static final int RADIX_THRESHOLD = 1 << 12;
+
+    @Override
+    public void sort(double[] arr, int from, int to) {
+        Objects.checkFromToIndex(from, to, arr.length);
+
+        to = SortUtils.moveNaNsToEnd(arr, from, to);
+        int n = to - from;
+        if (n < 2) return;
+
+        Metrics.Counters c = Metrics.ENABLED ? Metrics.begin("radix") : null;
+        if (n < RADIX_THRESHOLD) {
+            IntroSorter.introSort(arr, from, to, IntroSorter.depthLimit(n));
+            SortUtils.orderZeros(arr, from, to);
+            if (Metrics.ENABLED) Metrics.end();
+            return;
+        }
+
+        // Histograms of all digits in one pass
+        int[] counts = new int[PASSES * RADIX];
+        for (int i = from; i < to; i++) {
+            long key = key(arr[i]);
+            for (int pass = 0; pass < PASSES; pass++) {
+                counts[pass * RADIX + digit(key, pass)]++;
+            }
+        }
+
+        double[] src = arr, dst = new double[n];
+        int srcBase = from, dstBase = 0;
+        long firstKey = key(arr[from]);
+        if (Metrics.ENABLED) c.allocated += counts.length + n;
+
+        for (int pass = 0; pass < PASSES; pass++) {
+            int offset = pass * RADIX;
+            if (counts[offset + digit(firstKey, pass)] == n) continue; // Every element shares this digit
+
+            // Exclusive prefix sums turn counts into bucket start positions
+            int sum = 0;
+            for (int d = 0; d < RADIX; d++) {
+                int count = counts[offset + d];
+                counts[offset + d] = sum;
+                sum += count;
+            }
+
+            for (int i = 0; i < n; i++) {
+                double value = src[srcBase + i];
+                dst[dstBase + counts[offset + digit(key(value), pass)]++] = value;
+            }
+            if (Metrics.ENABLED) c.moves += n;
+
+            double[] temp = src;
+            src = dst;
+            dst = temp;
+            int tempBase = srcBase;
+            srcBase = dstBase;
+            dstBase = tempBase;
+        }
+
+        // An odd number of passes leaves the result in the buffer
+        if (src != arr) {
+            System.arraycopy(src, 0, arr, from, n);
+            if (Metrics.ENABLED) c.moves += n;
+        }
+        if (Metrics.ENABLED) Metrics.end();
+    }
+
+    /**
+     * Maps a double to a long whose unsigned order matches the numeric order.
+     */
+    static long key(double value) {
+        long bits = Double.doubleToRawLongBits(value);
+        return bits ^ ((bits >> 63) | Long.MIN_VALUE);
+    }
+
+    static int digit(long key, int pass) {
+        return (int) (key >>> (pass * BITS)) & MASK;
+    }
+}
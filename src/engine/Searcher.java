@@ -0,0 +1,29 @@
+package engine;
+
+/**
+ * A console-free searching kernel for double[] data.
+ *
+ * Two values are considered equal when they differ by less than
+ * {@link #EPSILON}, matching the comparison the console searches have always
+ * used for real numbers.
+ */
+public interface Searcher {
+
+    /** Tolerance used when comparing a candidate element against the key. */
+    double EPSILON = 1e-9;
+
+    /**
+     * Searches arr[from, to) for key.
+     *
+     * @return the index of a matching element, or -1 if there is none
+     * @throws IndexOutOfBoundsException if the range is not inside the array
+     */
+    int search(double[] arr, int from, int to, double key);
+
+    /**
+     * Searches the whole array for key.
+     */
+    default int search(double[] arr, double key) {
+        return search(arr, 0, arr.length, key);
+    }
+}
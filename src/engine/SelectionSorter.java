@@ -0,0 +1,40 @@
+package engine;
+
+import java.util.Objects;
+
+/**
+ * ENGINE: Selection Sort
+ *
+ * DESCRIPTION:
+ * Repeatedly selects the smallest remaining element and swaps it to the front
+ * of the unsorted part.
+ *
+ * TIME COMPLEXITY: O(n²)
+ * SPACE COMPLEXITY: O(1)
+ */
+public class SelectionSorter implements Sorter {
+
+    @Override
+    public void sort(double[] arr, int from, int to) {
+        Objects.checkFromToIndex(from, to, arr.length);
+        Metrics.Counters c = Metrics.ENABLED ? Metrics.begin("selection") : null;
+
+        for (int i = from; i < to - 1; i++) {
+            int min = i;
+
+            for (int j = i + 1; j < to; j++) {
+                if (Metrics.ENABLED) c.comparisons++;
+                if (arr[j] < arr[min]) {
+                    min = j;
+                }
+            }
+
+            // Swap elements
+            double temp = arr[i];
+            arr[i] = arr[min];
+            arr[min] = temp;
+            if (Metrics.ENABLED) c.swaps++;
+        }
+        if (Metrics.ENABLED) Metrics.end();
+    }
+}
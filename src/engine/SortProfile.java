@@ -0,0 +1,241 @@
+package engine;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Order and duplicate statistics of an unsorted range, used to pick its
+ * sorter.
+ *
+ * DESCRIPTION:
+ * No single engine wins on every input. Insertion Sort is unbeatable on a
+ * few dozen elements and on nearly sorted data. Adaptive Merge Sort finishes
+ * presorted, reversed or organ-pipe data in close to linear time. Three-Way
+ * Quick Sort is fastest when a few values repeat many times, and Radix Sort
+ * on everything else once the range is large enough to amortize its digit
+ * histograms. This class estimates which case an input is, from about three
+ * thousand reads, before any sorting starts:
+ *
+ * - runs: from SAMPLES neighbour triples, the fraction where the direction
+ *   changes (up then down, or down then up). Sorted, reversed and organ-pipe
+ *   data have almost none, random data two thirds. The estimated number of
+ *   monotone runs is 1 + that fraction * (n - 2).
+ * - descents: the fraction of sampled neighbour pairs arr[i] > arr[i + 1].
+ *   Sorted data has none, reversed data only descents, random data half.
+ * - inversions: the fraction of out-of-order pairs among SAMPLES values
+ *   taken at evenly spaced positions, counted with a merge sort of the
+ *   sample. It sees disorder across the whole range, which neighbour pairs
+ *   miss. The estimated inversion count is that fraction of n(n - 1) / 2.
+ * - distinct values: estimated from the sorted sample with the
+ *   bias-corrected Chao1 estimator, d + f1 (f1 - 1) / (2 (f2 + 1)), where
+ *   the m samples hold d distinct values, f1 of them once and f2 twice.
+ *
+ * Ranges of up to SAMPLES elements are measured exactly instead of sampled.
+ * Values are ordered as by Double.compare, so NaNs count as largest.
+ *
+ * DECISION (first rule that applies):
+ * 1. insertion        n <= INSERTION_MAX, or n <= NEARLY_SORTED_MAX with
+ *                     at most about n inversions
+ * 2. adaptive-merge   monotone runs of PRESORTED_RUN elements on average
+ * 3. radix            n >= RADIX_MIN (RadixSorter's own cutoff)
+ * 4. three-way-quick  each value repeats DUPLICATE_FACTOR times on average
+ * 5. quick            everything else
+ *
+ * Measured on one core: from RADIX_MIN up, radix beats both quick sorts on
+ * random data and on 16 or 1000 distinct values alike, so duplicates only
+ * decide below it.
+ *
+ * The sample is deterministic (evenly spaced), so the same input always
+ * gets the same decision.
+ */
+public final class SortProfile {
+    static final int SAMPLES = 1 << 10;
+    static final int INSERTION_MAX = 48;
+    static final int NEARLY_SORTED_MAX = 1 << 12;
+    static final int PRESORTED_RUN = 64;
+    static final int DUPLICATE_FACTOR = 4;
+    static final int RADIX_MIN = RadixSorter.RADIX_THRESHOLD;
+
+    private final int size;
+    private final long runs;
+    private final double descents;
+    private final double inversions;
+    private final long distinct;
+    private final String algorithm;
+    private final String reason;
+
+    private SortProfile(int size, long runs, double descents, double inversions, long distinct) {
+        this.size = size;
+        this.runs = runs;
+        this.descents = descents;
+        this.inversions = inversions;
+        this.distinct = distinct;
+
+        if (size <= INSERTION_MAX) {
+            algorithm = "insertion";
+            reason = "tiny input";
+        } else if (size <= NEARLY_SORTED_MAX && estimatedInversions() <= size) {
+            algorithm = "insertion";
+            reason = "nearly sorted";
+        } else if (runs * PRESORTED_RUN <= size) {
+            algorithm = "adaptive-merge";
+            reason = "long presorted runs";
+        } else if (size >= RADIX_MIN) {
+            algorithm = "radix";
+            reason = "large unordered input";
+        } else if (distinct * DUPLICATE_FACTOR <= size) {
+            algorithm = "three-way-quick";
+            reason = "many duplicates";
+        } else {
+            algorithm = "quick";
+            reason = "unordered input";
+        }
+    }
+
+    /**
+     * Profiles arr[from, to) without modifying it.
+     *
+     * @throws IndexOutOfBoundsException if the range is not inside the array
+     */
+    public static SortProfile of(double[] arr, int from, int to) {
+        Objects.checkFromToIndex(from, to, arr.length);
+
+        int n = to - from;
+        if (n < 3) {
+            boolean descending = n == 2 && Double.compare(arr[from], arr[from + 1]) > 0;
+            return new SortProfile(n, Math.min(n, 1), descending ? 1 : 0, descending ? 1 : 0, n);
+        }
+
+        // Neighbour triples: all of them for small ranges, SAMPLES spread out otherwise
+        int triples = Math.min(n - 2, SAMPLES);
+        int descending = 0, turns = 0;
+        for (int s = 0; s < triples; s++) {
+            int i = from + (int) ((long) (n - 2) * s / triples);
+            boolean down = Double.compare(arr[i], arr[i + 1]) > 0;
+            if (down) descending++;
+            if (down != Double.compare(arr[i + 1], arr[i + 2]) > 0) turns++;
+        }
+        long runs = 1 + Math.round((double) turns / triples * (n - 2));
+
+        // Value sample in position order
+        int m = Math.min(n, SAMPLES);
+        double[] sample = new double[m];
+        for (int s = 0; s < m; s++) {
+            sample[s] = arr[from + (int) ((long) n * s / m)];
+        }
+        long inverted = countInversions(sample, new double[m], 0, m);
+        double inversionFraction = inverted / ((double) m * (m - 1) / 2);
+
+        return new SortProfile(n, runs, (double) descending / triples, inversionFraction, estimateDistinct(sample, n));
+    }
+
+    public static SortProfile of(double[] arr) {
+        return of(arr, 0, arr.length);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the fraction of neighbour pairs in descending order (0 to 1)
+     */
+    public double descents() {
+        return descents;
+    }
+
+    /**
+     * @return the estimated number of monotone (ascending or descending) runs
+     */
+    public long estimatedRuns() {
+        return runs;
+    }
+
+    /**
+     * @return the fraction of all pairs that are out of order (0 to 1)
+     */
+    public double inversions() {
+        return inversions;
+    }
+
+    public long estimatedInversions() {
+        return Math.round(inversions * ((double) size * (size - 1) / 2));
+    }
+
+    public long estimatedDistinct() {
+        return distinct;
+    }
+
+    /**
+     * @return the Engines name of the sorter expected to be fastest
+     */
+    public String algorithm() {
+        return algorithm;
+    }
+
+    /**
+     * @return why algorithm() was chosen, e.g. "many duplicates"
+     */
+    public String reason() {
+        return reason;
+    }
+
+    /**
+     * @return a new instance of the sorter expected to be fastest
+     */
+    public Sorter sorter() {
+        return Engines.sorter(algorithm);
+    }
+
+    /**
+     * One line with the measurements and the decision, for logs.
+     */
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "n=%d runs~%d descents=%.3f inversions=%.3f distinct~%d -> %s (%s)",
+                size, runs, descents, inversions, distinct, algorithm, reason);
+    }
+
+    /**
+     * Sorts a[lo, hi) by Double.compare and returns its number of inversions.
+     */
+    private static long countInversions(double[] a, double[] scratch, int lo, int hi) {
+        if (hi - lo < 2) return 0;
+
+        int mid = (lo + hi) >>> 1;
+        long count = countInversions(a, scratch, lo, mid) + countInversions(a, scratch, mid, hi);
+
+        System.arraycopy(a, lo, scratch, lo, hi - lo);
+        int i = lo, j = mid, k = lo;
+        while (i < mid && j < hi) {
+            if (Double.compare(scratch[j], scratch[i]) < 0) {
+                // scratch[j] comes before everything left in the lower half
+                count += mid - i;
+                a[k++] = scratch[j++];
+            } else {
+                a[k++] = scratch[i++];
+            }
+        }
+        while (i < mid) a[k++] = scratch[i++];
+        while (j < hi) a[k++] = scratch[j++];
+        return count;
+    }
+
+    /**
+     * Chao1 estimate of the distinct values among n, from the sorted sample.
+     */
+    private static long estimateDistinct(double[] sorted, int n) {
+        int m = sorted.length;
+        long distinct = 0, once = 0, twice = 0;
+        for (int i = 0; i < m; ) {
+            int j = i + 1;
+            while (j < m && Double.compare(sorted[i], sorted[j]) == 0) j++;
+            distinct++;
+            if (j - i == 1) once++;
+            else if (j - i == 2) twice++;
+            i = j;
+        }
+        if (m == n) return distinct;
+        return Math.min(n, distinct + once * (once - 1) / (2 * (twice + 1)));
+    }
+}
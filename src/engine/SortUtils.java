@@ -0,0 +1,172 @@
+package engine;
+
+/**
+ * Small helpers shared by the sorting engines. Only moveNaNsToEnd is public,
+ * for callers outside the package that hand NaN-free ranges to an engine
+ * (ExternalSorter's chunks).
+ */
+public final class SortUtils {
+
+    private SortUtils() {
+    }
+
+    /**
+     * Moves every NaN in arr[from, to) behind the other values, keeping the
+     * order of the non-NaN values, and returns the end of the non-NaN part.
+     * NaN compares false against everything, so engines that rely on a
+     * consistent ordering sort only the part before it, as
+     * java.util.Arrays.sort does.
+     */
+    public static int moveNaNsToEnd(double[] arr, int from, int to) {
+        int write = from;
+        for (int read = from; read < to; read++) {
+            double value = arr[read];
+            if (value == value) {
+                // The gap [write, read) holds only NaNs, so swapping keeps non-NaNs in order
+                if (write != read) {
+                    arr[read] = arr[write];
+                    arr[write] = value;
+                }
+                write++;
+            }
+        }
+        return write;
+    }
+
+    /**
+     * Stable insertion sort of arr[lo, hi), used for short ranges.
+     */
+    static void insertionSort(double[] arr, int lo, int hi) {
+        Metrics.Counters c = Metrics.ENABLED ? Metrics.current() : null;
+        for (int i = lo + 1; i < hi; i++) {
+            double key = arr[i];
+            int j = i - 1;
+            while (j >= lo && arr[j] > key) {
+                arr[j + 1] = arr[j];
+                j--;
+            }
+            arr[j + 1] = key;
+
+            if (Metrics.ENABLED) {
+                int shifts = i - 1 - j;
+                c.comparisons += j >= lo ? shifts + 1 : shifts;
+                c.moves += shifts + 1;
+            }
+        }
+    }
+
+    /**
+     * Puts every -0.0 in the sorted, NaN-free range arr[from, to) before
+     * every 0.0. Comparison sorts treat the two as equal and may leave them
+     * mixed; afterwards the order is that of java.util.Arrays.sort and of
+     * RadixSorter's keys. Costs O(log n + number of zeros).
+     */
+    static void orderZeros(double[] arr, int from, int to) {
+        int lo = firstNonNegative(arr, from, to), hi = lo, negatives = 0;
+        for (; hi < to && arr[hi] == 0.0; hi++) {
+            if (Double.doubleToRawLongBits(arr[hi]) != 0) negatives++;
+        }
+        if (negatives == 0 || negatives == hi - lo) return;
+
+        for (int i = lo; i < hi; i++) arr[i] = i < lo + negatives ? -0.0 : 0.0;
+    }
+
+    /**
+     * orderZeros for a key array with a payload. The zeros are partitioned
+     * stably, so each sign keeps the payload order the sort left it in.
+     */
+    static void orderZeros(double[] keys, int[] payload, int from, int to) {
+        int lo = firstNonNegative(keys, from, to), hi = lo, negatives = 0;
+        for (; hi < to && keys[hi] == 0.0; hi++) {
+            if (Double.doubleToRawLongBits(keys[hi]) != 0) negatives++;
+        }
+        if (negatives == 0 || negatives == hi - lo) return;
+
+        int[] positive = new int[hi - lo - negatives];
+        int write = lo;
+        for (int i = lo, p = 0; i < hi; i++) {
+            if (Double.doubleToRawLongBits(keys[i]) != 0) payload[write++] = payload[i];
+            else positive[p++] = payload[i];
+        }
+        for (int i = lo; i < hi; i++) {
+            keys[i] = i < write ? -0.0 : 0.0;
+            if (i >= write) payload[i] = positive[i - write];
+        }
+    }
+
+    /**
+     * @return the first index in the sorted range arr[from, to) whose value
+     *         is not below zero (-0.0 counts as zero)
+     */
+    private static int firstNonNegative(double[] arr, int from, int to) {
+        int lo = from, hi = to;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (arr[mid] < 0.0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    static void swap(double[] arr, int i, int j) {
+        double temp = arr[i];
+        arr[i] = arr[j];
+        arr[j] = temp;
+    }
+
+    /**
+     * moveNaNsToEnd for a key array with a payload: moves every NaN key in
+     * keys[from, to), with its payload entry, behind the other keys, keeping
+     * the order of both parts. Returns the end of the non-NaN part.
+     */
+    static int moveNaNsToEnd(double[] keys, int[] payload, int from, int to) {
+        int nans = 0;
+        for (int i = from; i < to; i++) {
+            if (keys[i] != keys[i]) nans++;
+        }
+        if (nans == 0) return to;
+
+        int[] nanPayload = new int[nans];
+        int write = from;
+        for (int read = from, n = 0; read < to; read++) {
+            if (keys[read] == keys[read]) {
+                keys[write] = keys[read];
+                payload[write++] = payload[read];
+            } else {
+                nanPayload[n++] = payload[read];
+            }
+        }
+        for (int i = write, n = 0; i < to; i++) {
+            keys[i] = Double.NaN;
+            payload[i] = nanPayload[n++];
+        }
+        return write;
+    }
+
+    /**
+     * Stable insertion sort of keys[lo, hi), moving payload along.
+     */
+    static void insertionSort(double[] keys, int[] payload, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            double key = keys[i];
+            int value = payload[i];
+            int j = i - 1;
+            while (j >= lo && keys[j] > key) {
+                keys[j + 1] = keys[j];
+                payload[j + 1] = payload[j];
+                j--;
+            }
+            keys[j + 1] = key;
+            payload[j + 1] = value;
+        }
+    }
+
+    static void swap(double[] keys, int[] payload, int i, int j) {
+        double key = keys[i];
+        keys[i] = keys[j];
+        keys[j] = key;
+        int value = payload[i];
+        payload[i] = payload[j];
+        payload[j] = value;
+    }
+}
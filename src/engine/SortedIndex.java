@@ -0,0 +1,234 @@
+package engine;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+/**
+ * Sorted view of a dataset that remembers where each element came from.
+ *
+ * DESCRIPTION:
+ * Binary search needs sorted data, but sorting the caller's array in place
+ * loses the original order, so a hit can only be reported as a position in
+ * the sorted copy. A SortedIndex keeps two arrays instead:
+ *
+ * - keys:      a sorted copy of the data (NaNs last, as Arrays.sort leaves them)
+ * - positions: positions[i] is the original index of keys[i]
+ *
+ * Lookups search keys and translate the hit through positions. The caller's
+ * array is never modified. The sort is stable, so exact duplicates keep
+ * their original order, and search reports the lowest original index among
+ * them.
+ *
+ * Right after sorting, the keys are profiled once (SearchProfile), and
+ * search(key) uses the searcher the profile picks: interpolation search on
+ * evenly spread data, binary search otherwise. Both return the same index.
+ *
+ * The index is immutable, so one instance can serve any number of threads.
+ * SortedIndexCache reuses indexes across calls on the same dataset, and
+ * across runs through files written by writeTo.
+ *
+ * TIME COMPLEXITY: O(n) to build (radix sort), O(log n) per lookup
+ *                  (O(log log n) on evenly spread data)
+ * SPACE COMPLEXITY: O(n): one double and one int per element
+ */
+public final class SortedIndex {
+    private static final BinarySearcher BINARY = new BinarySearcher();
+    // Elements per buffer when writing or reading an index
+    private static final int TRANSFER_ELEMENTS = 1 << 16;
+
+    private final double[] keys;
+    private final int[] positions;
+    private final SearchProfile profile;
+    private final BinarySearcher searcher;
+
+    private SortedIndex(double[] keys, int[] positions) {
+        this.keys = keys;
+        this.positions = positions;
+        this.profile = SearchProfile.of(keys);
+        this.searcher = profile.searcher();
+    }
+
+    /**
+     * Builds the index of data. data itself is left untouched.
+     */
+    public static SortedIndex of(double[] data) {
+        double[] keys = data.clone();
+        int[] positions = new int[keys.length];
+        for (int i = 0; i < positions.length; i++) positions[i] = i;
+
+        new RadixCoSorter().sort(keys, positions);
+        return new SortedIndex(keys, positions);
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * @return the i-th smallest element
+     */
+    public double key(int i) {
+        return keys[i];
+    }
+
+    /**
+     * @return the original index of the i-th smallest element
+     */
+    public int position(int i) {
+        return positions[i];
+    }
+
+    /**
+     * @return the distribution profile taken when the index was built
+     */
+    public SearchProfile profile() {
+        return profile;
+    }
+
+    /**
+     * @return a sorted copy of the data
+     */
+    public double[] sortedKeys() {
+        return keys.clone();
+    }
+
+    /**
+     * Looks key up with searcher, which must work on sorted data (binary
+     * search or one of its variants).
+     *
+     * @return the original index of the first match in sorted order, or -1
+     */
+    public int search(Searcher searcher, double key) {
+        int i = searcher.search(keys, key);
+        return i == -1 ? -1 : positions[i];
+    }
+
+    /**
+     * Looks key up with the searcher chosen by profile().
+     *
+     * @return the original index of the first match in sorted order, or -1
+     */
+    public int search(double key) {
+        return search(searcher, key);
+    }
+
+    /**
+     * @return the original indices of every element within EPSILON of key,
+     *         in ascending order
+     */
+    public int[] positionsOf(double key) {
+        int[] range = BINARY.equalRange(keys, key);
+        int[] result = Arrays.copyOfRange(positions, range[0], range[1]);
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * @return the sorted position (0 = smallest) of the first element not
+     *         less than key, or size() if there is none
+     */
+    public int lowerBound(double key) {
+        return BINARY.lowerBound(keys, key);
+    }
+
+    /**
+     * @return the number of elements x with low <= x < high
+     */
+    public int countInRange(double low, double high) {
+        return BINARY.countInRange(keys, low, high);
+    }
+
+    /**
+     * Looks up every key in one batch (see BatchBinarySearcher).
+     *
+     * @return for each key, the original index of its first match in sorted
+     *         order, or -1
+     */
+    public int[] searchAll(BatchBinarySearcher batch, double[] queries) {
+        int[] result = batch.searchAll(keys, queries);
+        for (int q = 0; q < result.length; q++) {
+            if (result[q] != -1) result[q] = positions[result[q]];
+        }
+        return result;
+    }
+
+    /**
+     * Reads an index of data written by writeTo and checks it against data:
+     * the keys must be in order, and each must be the element of data its
+     * position points to.
+     *
+     * @return the index, or null if the stored one is not that of data
+     */
+    static SortedIndex readFrom(ReadableByteChannel channel, double[] data) throws IOException {
+        int n = data.length;
+        double[] keys = new double[n];
+        int[] positions = new int[n];
+        ByteBuffer buffer = ByteBuffer.allocate(TRANSFER_ELEMENTS * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < n; i += TRANSFER_ELEMENTS) {
+            int count = Math.min(TRANSFER_ELEMENTS, n - i);
+            readFully(channel, buffer, count * Double.BYTES);
+            buffer.asDoubleBuffer().get(keys, i, count);
+        }
+        for (int i = 0; i < n; i += TRANSFER_ELEMENTS) {
+            int count = Math.min(TRANSFER_ELEMENTS, n - i);
+            readFully(channel, buffer, count * Integer.BYTES);
+            buffer.asIntBuffer().get(positions, i, count);
+        }
+
+        for (int i = 0; i < n; i++) {
+            int position = positions[i];
+            if (position < 0 || position >= n
+                    || Double.doubleToRawLongBits(keys[i]) != Double.doubleToRawLongBits(data[position])
+                    || i > 0 && Double.compare(keys[i - 1], keys[i]) > 0) {
+                return null;
+            }
+        }
+        return new SortedIndex(keys, positions);
+    }
+
+    private static void readFully(ReadableByteChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        buffer.clear().limit(bytes);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) throw new EOFException("Index ends early");
+        }
+        buffer.flip();
+    }
+
+    /**
+     * Writes the keys as little-endian doubles, the layout of ResultWriter's
+     * BINARY format, followed by the positions as little-endian ints:
+     * 12 bytes per element, no header.
+     */
+    void writeTo(WritableByteChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(TRANSFER_ELEMENTS * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < keys.length; i += TRANSFER_ELEMENTS) {
+            int count = Math.min(TRANSFER_ELEMENTS, keys.length - i);
+            buffer.clear();
+            buffer.asDoubleBuffer().put(keys, i, count);
+            writeFully(channel, buffer, count * Double.BYTES);
+        }
+        for (int i = 0; i < positions.length; i += TRANSFER_ELEMENTS) {
+            int count = Math.min(TRANSFER_ELEMENTS, positions.length - i);
+            buffer.clear();
+            buffer.asIntBuffer().put(positions, i, count);
+            writeFully(channel, buffer, count * Integer.BYTES);
+        }
+    }
+
+    private static void writeFully(WritableByteChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        buffer.limit(bytes);
+        while (buffer.hasRemaining()) channel.write(buffer);
+    }
+
+    /**
+     * Approximate heap footprint: the two arrays plus their headers.
+     */
+    long memoryBytes() {
+        return 64 + (long) keys.length * (Double.BYTES + Integer.BYTES);
+    }
+}
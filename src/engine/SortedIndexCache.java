@@ -0,0 +1,255 @@
+package engine;
+
+import java.io.IOException;
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * LRU cache of SortedIndex instances, keyed by dataset content.
+ *
+ * DESCRIPTION:
+ * Repeated searches over the same dataset should not sort it again. get(data)
+ * fingerprints the contents and returns the cached index when one exists,
+ * building it only on a miss. Fingerprinting is a single read pass, several
+ * times cheaper than the sort it saves.
+ *
+ * FINGERPRINT:
+ * The length plus two independent 64-bit hashes of the raw bits of every
+ * element. The data is not stored, so a match cannot be verified element by
+ * element. With 128 hash bits an accidental collision is far less likely
+ * than a hardware error. Datasets with the same contents share an index,
+ * whichever array they live in. Copies of an array hit, and an array
+ * modified after indexing misses.
+ *
+ * MEMORY BUDGET:
+ * Each index costs about 12 bytes per element. When the total exceeds the
+ * budget, the least recently used indexes are dropped. An index larger than
+ * the whole budget is built and returned but not cached.
+ *
+ * PERSISTENCE:
+ * Without a directory the cache lives only as long as the process. With
+ * one, every index built on a miss is also written there, to a file named
+ * after the fingerprint: a 32-byte header (magic, length, both hashes), the
+ * sorted keys as little-endian doubles (the layout of ResultWriter's BINARY
+ * output) and the positions as little-endian ints. A later miss, in this
+ * process or another, reads that file instead of sorting, after checking
+ * every key against the element its position points to. Files are written
+ * under a temporary name and renamed, so a reader never sees half of one.
+ * Unreadable files are rebuilt; I/O errors are logged at WARNING through
+ * System.Logger "engine.SortedIndexCache" and never fail a get. Nothing
+ * removes old files: the directory is the caller's to clean.
+ *
+ * All methods are thread-safe. Concurrent misses on the same dataset may
+ * both build the index; the later one replaces the earlier one.
+ *
+ * TIME COMPLEXITY: O(n) per get (fingerprint), plus O(n) for the build or
+ *                  load on a miss
+ * SPACE COMPLEXITY: at most memoryBudget bytes of indexes
+ */
+public final class SortedIndexCache {
+    private static final Logger LOG = System.getLogger(SortedIndexCache.class.getName());
+    // "SortIdx1" in ASCII, read as a little-endian long
+    private static final long MAGIC = 0x3178644974726F53L;
+    private static final int HEADER_BYTES = 4 * Long.BYTES;
+
+    private final long memoryBudget;
+    private final Path directory;
+    private final LinkedHashMap<Fingerprint, SortedIndex> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long memoryUsed;
+    private long hits;
+    private long misses;
+    private long loads;
+
+    /**
+     * @param memoryBudget the most memory, in bytes, the cached indexes may use
+     */
+    public SortedIndexCache(long memoryBudget) {
+        this(memoryBudget, null);
+    }
+
+    /**
+     * @param memoryBudget the most memory, in bytes, the cached indexes may use
+     * @param directory    where indexes are kept across runs, created when
+     *                     first needed; null to keep them in memory only
+     */
+    public SortedIndexCache(long memoryBudget, Path directory) {
+        if (memoryBudget < 0) throw new IllegalArgumentException("Negative memory budget: " + memoryBudget);
+        this.memoryBudget = memoryBudget;
+        this.directory = directory;
+    }
+
+    /**
+     * @return the index of data, from the cache when possible
+     */
+    public SortedIndex get(double[] data) {
+        Fingerprint fingerprint = Fingerprint.of(data);
+        synchronized (this) {
+            SortedIndex index = entries.get(fingerprint);
+            if (index != null) {
+                hits++;
+                return index;
+            }
+            misses++;
+        }
+
+        // Loaded or built outside the lock so other datasets are not held up
+        SortedIndex index = directory != null ? load(data, fingerprint) : null;
+        if (index != null) {
+            synchronized (this) {
+                loads++;
+            }
+        } else {
+            index = SortedIndex.of(data);
+            if (directory != null) store(index, fingerprint);
+        }
+        long size = index.memoryBytes();
+        if (size > memoryBudget) return index;
+
+        synchronized (this) {
+            SortedIndex previous = entries.put(fingerprint, index);
+            if (previous != null) memoryUsed -= previous.memoryBytes();
+            memoryUsed += size;
+
+            Iterator<SortedIndex> eldest = entries.values().iterator();
+            while (memoryUsed > memoryBudget) {
+                memoryUsed -= eldest.next().memoryBytes();
+                eldest.remove();
+            }
+        }
+        return index;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        memoryUsed = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long memoryUsed() {
+        return memoryUsed;
+    }
+
+    public synchronized long hits() {
+        return hits;
+    }
+
+    public synchronized long misses() {
+        return misses;
+    }
+
+    /**
+     * @return the misses answered from a file in the directory instead of a sort
+     */
+    public synchronized long loads() {
+        return loads;
+    }
+
+    /**
+     * @return the index of data stored in the directory, or null if there
+     *         is no usable one
+     */
+    private SortedIndex load(double[] data, Fingerprint fingerprint) {
+        Path file = directory.resolve(fingerprint.fileName());
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() != HEADER_BYTES + (long) data.length * (Double.BYTES + Integer.BYTES)) return null;
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) return null;
+            }
+            header.flip();
+            if (header.getLong() != MAGIC || header.getLong() != data.length
+                    || header.getLong() != fingerprint.first || header.getLong() != fingerprint.second) {
+                return null;
+            }
+            return SortedIndex.readFrom(channel, data);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, "Cannot read sorted index " + file + ": " + e);
+            return null;
+        }
+    }
+
+    private void store(SortedIndex index, Fingerprint fingerprint) {
+        Path file = directory.resolve(fingerprint.fileName());
+        Path temp = null;
+        try {
+            Files.createDirectories(directory);
+            temp = Files.createTempFile(directory, fingerprint.fileName(), ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                header.putLong(MAGIC).putLong(index.size()).putLong(fingerprint.first).putLong(fingerprint.second).flip();
+                while (header.hasRemaining()) channel.write(header);
+                index.writeTo(channel);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, "Cannot write sorted index " + file + ": " + e);
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+
+    private static final class Fingerprint {
+        private final int length;
+        private final long first;
+        private final long second;
+
+        private Fingerprint(int length, long first, long second) {
+            this.length = length;
+            this.first = first;
+            this.second = second;
+        }
+
+        static Fingerprint of(double[] data) {
+            long first = 0x9E3779B97F4A7C15L, second = 0xC2B2AE3D27D4EB4FL;
+            for (double value : data) {
+                long bits = Double.doubleToRawLongBits(value);
+                first = Long.rotateLeft((first ^ bits) * 0xBF58476D1CE4E5B9L, 29);
+                second = (second + bits) * 0x94D049BB133111EBL;
+                second ^= second >>> 31;
+            }
+            return new Fingerprint(data.length, mix(first), mix(second));
+        }
+
+        String fileName() {
+            return String.format("%016x%016x-%d.sidx", first, second, length);
+        }
+
+        private static long mix(long h) {
+            h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+            h = (h ^ (h >>> 33)) * 0xC4CEB93453B8CA81L;
+            return h ^ (h >>> 33);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Fingerprint)) return false;
+            Fingerprint that = (Fingerprint) other;
+            return length == that.length && first == that.first && second == that.second;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(first);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package engine;
+
+/**
+ * A console-free sorting kernel for double[] data.
+ *
+ * Implementations sort the half-open range [from, to) in ascending order and
+ * leave the rest of the array untouched. They keep no state between calls, so
+ * one instance can be shared and reused freely.
+ */
+public interface Sorter {
+
+    /**
+     * Sorts arr[from, to) in ascending order.
+     *
+     * @throws IndexOutOfBoundsException if the range is not inside the array
+     */
+    void sort(double[] arr, int from, int to);
+
+    /**
+     * Sorts the whole array in ascending order.
+     */
+    default void sort(double[] arr) {
+        sort(arr, 0, arr.length);
+    }
+}
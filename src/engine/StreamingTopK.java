@@ -0,0 +1,117 @@
+package engine;
+
+import java.util.Arrays;
+
+/**
+ * ENGINE: Streaming Top-k
+ *
+ * DESCRIPTION:
+ * Keeps the k smallest (or largest) values of a stream that is never held
+ * in memory at once, such as a file read in chunks through
+ * DatasetReader.read(path, buffer, consumer).
+ *
+ * The values kept so far sit in a binary heap of k doubles with the worst
+ * of them at the root: the largest kept value when collecting the
+ * smallest. A new value that is not better than the root is rejected with a
+ * single comparison. That is the common case once the heap has filled,
+ * because on random input only about k * ln(n / k) of the n values ever get
+ * in. A better value replaces the root and sifts down in O(log k).
+ *
+ * For the largest values, the heap stores negated values, so both
+ * directions share one code path.
+ *
+ * NaNs are skipped. An instance is not thread-safe. Give each thread its
+ * own and combine them with addAll(other.result()).
+ *
+ * TIME COMPLEXITY: O(n + k log k log(n / k)) on random input, O(n log k) worst
+ * SPACE COMPLEXITY: O(k)
+ */
+public final class StreamingTopK {
+    private final double[] heap;
+    private final boolean largest;
+    private int size;
+    private long seen;
+
+    private StreamingTopK(int k, boolean largest) {
+        if (k < 0) throw new IllegalArgumentException("Negative k: " + k);
+        this.heap = new double[k];
+        this.largest = largest;
+    }
+
+    /**
+     * Collects the k smallest values.
+     */
+    public static StreamingTopK smallest(int k) {
+        return new StreamingTopK(k, false);
+    }
+
+    /**
+     * Collects the k largest values.
+     */
+    public static StreamingTopK largest(int k) {
+        return new StreamingTopK(k, true);
+    }
+
+    public void add(double value) {
+        if (value != value) return;
+        seen++;
+        offer(largest ? -value : value);
+    }
+
+    /**
+     * Adds values[from, to).
+     */
+    public void addAll(double[] values, int from, int to) {
+        for (int i = from; i < to; i++) add(values[i]);
+    }
+
+    public void addAll(double[] values) {
+        addAll(values, 0, values.length);
+    }
+
+    /**
+     * @return how many numbers (not NaN) have been added
+     */
+    public long count() {
+        return seen;
+    }
+
+    /**
+     * @return the values kept, best first: ascending for smallest, descending
+     *         for largest. Fewer than k if fewer numbers were added.
+     */
+    public double[] result() {
+        double[] result = Arrays.copyOf(heap, size);
+        Arrays.sort(result);
+        if (largest) {
+            for (int i = 0; i < size; i++) result[i] = -result[i];
+        }
+        return result;
+    }
+
+    private void offer(double value) {
+        if (size < heap.length) {
+            // Sift up
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!(heap[parent] < value)) break;
+                heap[i] = heap[parent];
+                i = parent;
+            }
+            heap[i] = value;
+            return;
+        }
+        if (size == 0 || !(value < heap[0])) return;
+
+        // Replace the root, then sift down
+        int i = 0, child;
+        while ((child = 2 * i + 1) < size) {
+            if (child + 1 < size && heap[child] < heap[child + 1]) child++;
+            if (!(value < heap[child])) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = value;
+    }
+}
@@ -0,0 +1,83 @@
+package engine;
+
+import java.util.Objects;
+
+/**
+ * ENGINE: Three-Way Quick Sort
+ *
+ * DESCRIPTION:
+ * Quick Sort with Dijkstra's Dutch-national-flag partition. One pass splits
+ * the range into three parts, < pivot, == pivot and > pivot, and only the
+ * outer two are sorted further. Every key equal to the pivot is finished in
+ * that pass, so low-cardinality data (a few hundred distinct values across
+ * millions of rows) needs about log k levels instead of log n.
+ *
+ * Pivot selection, smaller-side recursion, the insertion sort cutoff and the
+ * heap sort fallback are the same as IntroSorter.
+ *
+ * PARTITION INVARIANT:
+ * [lo, lt) < pivot | [lt, i) == pivot | [i, gt) unscanned | [gt, hi) > pivot
+ *
+ * TIME COMPLEXITY: O(n log k) for k distinct values, O(n log n) worst
+ * SPACE COMPLEXITY: O(log n)
+ */
+public class ThreeWayQuickSorter implements Sorter {
+
+    @Override
+    public void sort(double[] arr, int from, int to) {
+        Objects.checkFromToIndex(from, to, arr.length);
+
+        to = SortUtils.moveNaNsToEnd(arr, from, to);
+        if (to - from < 2) return;
+
+        if (Metrics.ENABLED) Metrics.begin("three-way-quick");
+        threeWaySort(arr, from, to, IntroSorter.depthLimit(to - from));
+        if (Metrics.ENABLED) Metrics.end();
+    }
+
+    private static void threeWaySort(double[] arr, int lo, int hi, int depth) {
+        Metrics.Counters c = Metrics.ENABLED ? Metrics.current() : null;
+        if (Metrics.ENABLED) c.enter();
+
+        while (hi - lo > IntroSorter.INSERTION_THRESHOLD) {
+            if (depth-- == 0) {
+                IntroSorter.heapSort(arr, lo, hi);
+                if (Metrics.ENABLED) c.exit();
+                return;
+            }
+
+            double pivot = arr[IntroSorter.choosePivot(arr, lo, hi)];
+            int lt = lo, i = lo, gt = hi;
+            int less = 0;
+
+            while (i < gt) {
+                double value = arr[i];
+                if (value < pivot) {
+                    SortUtils.swap(arr, lt++, i++);
+                    if (Metrics.ENABLED) less++;
+                } else if (value > pivot) {
+                    SortUtils.swap(arr, i, --gt);
+                } else {
+                    i++;
+                }
+            }
+
+            if (Metrics.ENABLED) {
+                // One comparison for keys below the pivot, two for the rest; a swap for all but the equal keys
+                c.comparisons += 2L * (hi - lo) - less;
+                c.swaps += (lt - lo) + (hi - gt);
+            }
+
+            // [lt, gt) now holds every key equal to the pivot and is done
+            if (lt - lo < hi - gt) {
+                threeWaySort(arr, lo, lt, depth);
+                lo = gt;
+            } else {
+                threeWaySort(arr, gt, hi, depth);
+                hi = lt;
+            }
+        }
+        SortUtils.insertionSort(arr, lo, hi);
+        if (Metrics.ENABLED) c.exit();
+    }
+}
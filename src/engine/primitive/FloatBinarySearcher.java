@@ -0,0 +1,142 @@
+// Generated from templates/engine/primitive/$Type$BinarySearcher.java.template by tools/GeneratePrimitives.java. Do not edit.
+package engine.primitive;
+
+import java.util.Objects;
+
+/**
+ * ENGINE: Binary Search (float)
+ *
+ * DESCRIPTION:
+ * engine.BinarySearcher for float[]. The range must already be sorted in
+ * ascending order. Every query is a single bisection for the first index
+ * where a monotone condition becomes true:
+ *
+ * - search(x):       lowest index of an element matching x, or -1
+ * - lowerBound(x):   first index with arr[i] >= x
+ * - upperBound(x):   first index with arr[i] > x
+ * - equalRange(x):   the run of elements matching x
+ * - countInRange(a, b): how many elements lie in [a, b)
+ *
+ * The bounds and countInRange compare exactly. Matching (search,
+ * equalRange) allows a difference below EPSILON, as the double engine
+ * does. NaN elements sort last; a NaN key never matches, its lower bound is
+ * the first NaN and its upper bound is the end of the range.
+ *
+ * TIME COMPLEXITY: O(log n)
+ * SPACE COMPLEXITY: O(1)
+ */
+public class FloatBinarySearcher implements FloatSearcher {
+
+    /**
+     * @return the lowest index of an element matching key, or -1
+     */
+    @Override
+    public int search(float[] arr, int from, int to, float key) {
+        Objects.checkFromToIndex(from, to, arr.length);
+
+        int i = firstMatchCandidate(arr, from, to, key);
+        return i < to && Math.abs((double) arr[i] - key) < EPSILON ? i : -1;
+    }
+
+    /**
+     * @return the first index in [from, to) whose element is not less than
+     *         key, or to if there is none
+     */
+    public int lowerBound(float[] arr, int from, int to, float key) {
+        Objects.checkFromToIndex(from, to, arr.length);
+
+        int low = from, high = to;
+        if (key != key) {
+            // The first NaN: numbers are "less than" a NaN key
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (arr[mid] != arr[mid]) high = mid;
+                else low = mid + 1;
+            }
+            return low;
+        }
+
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (!(arr[mid] < key)) high = mid;
+            else low = mid + 1;
+        }
+        return low;
+    }
+
+    public int lowerBound(float[] arr, float key) {
+        return lowerBound(arr, 0, arr.length, key);
+    }
+
+    /**
+     * @return the first index in [from, to) whose element is greater than
+     *         key, or to if there is none
+     */
+    public int upperBound(float[] arr, int from, int to, float key) {
+        Objects.checkFromToIndex(from, to, arr.length);
+        if (key != key) return to;
+
+        int low = from, high = to;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (!(arr[mid] <= key)) high = mid;
+            else low = mid + 1;
+        }
+        return low;
+    }
+
+    public int upperBound(float[] arr, float key) {
+        return upperBound(arr, 0, arr.length, key);
+    }
+
+    /**
+     * @return {first, end}: arr[first, end) are exactly the elements matching
+     *         key. The run is empty (first == end) when nothing matches, with
+     *         first at the position key would be inserted.
+     */
+    public int[] equalRange(float[] arr, int from, int to, float key) {
+        Objects.checkFromToIndex(from, to, arr.length);
+
+        int first = firstMatchCandidate(arr, from, to, key);
+        int low = first, high = to;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (!((double) arr[mid] - key < EPSILON)) high = mid;
+            else low = mid + 1;
+        }
+        return new int[] {first, low};
+    }
+
+    public int[] equalRange(float[] arr, float key) {
+        return equalRange(arr, 0, arr.length, key);
+    }
+
+    /**
+     * @return the number of elements x in [from, to) with low <= x < high;
+     *         0 if high <= low
+     */
+    public int countInRange(float[] arr, int from, int to, float low, float high) {
+        Objects.checkFromToIndex(from, to, arr.length);
+        if (!(low < high)) return 0;
+
+        int first = lowerBound(arr, from, to, low);
+        return lowerBound(arr, first, to, high) - first;
+    }
+
+    public int countInRange(float[] arr, float low, float high) {
+        return countInRange(arr, 0, arr.length, low, high);
+    }
+
+    /**
+     * First index in [lo, hi) whose element is not EPSILON or more below
+     * key, or hi if there is none. NaN elements count as past every key.
+     */
+    private static int firstMatchCandidate(float[] arr, int lo, int hi, float key) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (!((double) arr[mid] - key <= -EPSILON)) hi = mid;
+            else lo = mid + 1;
+        }
+        return lo;
+    }
+}
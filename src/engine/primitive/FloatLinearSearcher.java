@@ -0,0 +1,27 @@
+// Generated from templates/engine/primitive/$Type$LinearSearcher.java.template by tools/GeneratePrimitives.java. Do not edit.
+package engine.primitive;
+
+import java.util.Objects;
+
+/**
+ * ENGINE: Linear Search (float)
+ *
+ * DESCRIPTION:
+ * Checks every element from the start of the range and stops at the first
+ * match, so it returns the lowest matching index. Works on unsorted data.
+ *
+ * TIME COMPLEXITY: O(n)
+ * SPACE COMPLEXITY: O(1)
+ */
+public class FloatLinearSearcher implements FloatSearcher {
+
+    @Override
+    public int search(float[] arr, int from, int to, float key) {
+        Objects.checkFromToIndex(from, to, arr.length);
+
+        for (int i = from; i < to; i++) {
+            if (Math.abs((double) arr[i] - key) < EPSILON) return i;
+        }
+        return -1;
+    }
+}
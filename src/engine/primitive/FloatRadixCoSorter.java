@@ -0,0 +1,188 @@
+// Generated from templates/engine/primitive/$Type$RadixCoSorter.java.template by tools/GeneratePrimitives.java. Do not edit.
+package engine.primitive;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * ENGINE: LSD Radix Sort with payload (float keys)
+ *
+ * DESCRIPTION:
+ * FloatRadixSorter that moves an int[] payload along with the keys, in the
+ * same way engine.RadixCoSorter does for double keys: the same keys and
+ * digits, skipping of shared digits, and keys and payload scattered together.
+ * Every pass is stable, so equal keys keep their payloads in the original
+ * order. Ranges shorter than RADIX_THRESHOLD use a stable Merge Sort instead.
+ *
+ * NaN keys go last, with their payloads in the original order.
+ *
+ * argsort returns the order of the keys without modifying them.
+ *
+ * TIME COMPLEXITY: O(n) (at most three passes)
+ * SPACE COMPLEXITY: O(n)
+ */
+public class FloatRadixCoSorter {
+    static final int INSERTION_THRESHOLD = 32;
+
+    /**
+     * Sorts keys[from, to) in ascending order and applies the same
+     * permutation to payload[from, to).
+     *
+     * @throws IndexOutOfBoundsException if the range is not inside both arrays
+     */
+    public void sort(float[] keys, int[] payload, int from, int to) {
+        Objects.checkFromToIndex(from, to, keys.length);
+        Objects.checkFromToIndex(from, to, payload.length);
+
+        to = moveNaNsToEnd(keys, payload, from, to);
+        int n = to - from;
+        if (n < FloatRadixSorter.RADIX_THRESHOLD) {
+            if (n > 1) {
+                int half = (n + 1) / 2;
+                mergeSort(keys, payload, from, to, new float[half], new int[half]);
+            }
+            return;
+        }
+
+        int[] counts = new int[FloatRadixSorter.PASSES * FloatRadixSorter.RADIX];
+        for (int i = from; i < to; i++) {
+            int key = FloatRadixSorter.key(keys[i]);
+            for (int pass = 0; pass < FloatRadixSorter.PASSES; pass++) {
+                counts[pass * FloatRadixSorter.RADIX + FloatRadixSorter.digit(key, pass)]++;
+            }
+        }
+
+        float[] srcKeys = keys, dstKeys = new float[n];
+        int[] srcPayload = payload, dstPayload = new int[n];
+        int srcBase = from, dstBase = 0;
+        int firstKey = FloatRadixSorter.key(keys[from]);
+
+        for (int pass = 0; pass < FloatRadixSorter.PASSES; pass++) {
+            int offset = pass * FloatRadixSorter.RADIX;
+            if (counts[offset + FloatRadixSorter.digit(firstKey, pass)] == n) continue; // Every key shares this digit
+
+            int sum = 0;
+            for (int d = 0; d < FloatRadixSorter.RADIX; d++) {
+                int count = counts[offset + d];
+                counts[offset + d] = sum;
+                sum += count;
+            }
+
+            for (int i = 0; i < n; i++) {
+                float key = srcKeys[srcBase + i];
+                int target = dstBase + counts[offset + FloatRadixSorter.digit(FloatRadixSorter.key(key), pass)]++;
+                dstKeys[target] = key;
+                dstPayload[target] = srcPayload[srcBase + i];
+            }
+
+            float[] tempKeys = srcKeys;
+            srcKeys = dstKeys;
+            dstKeys = tempKeys;
+            int[] tempPayload = srcPayload;
+            srcPayload = dstPayload;
+            dstPayload = tempPayload;
+            int tempBase = srcBase;
+            srcBase = dstBase;
+            dstBase = tempBase;
+        }
+
+        // An odd number of passes leaves the result in the scratch arrays
+        if (srcKeys != keys) {
+            System.arraycopy(srcKeys, 0, keys, from, n);
+            System.arraycopy(srcPayload, 0, payload, from, n);
+        }
+    }
+
+    public void sort(float[] keys, int[] payload) {
+        sort(keys, payload, 0, keys.length);
+    }
+
+    /**
+     * Returns the indices of keys[from, to) in the order that sorts them.
+     * keys itself is not modified.
+     *
+     * @throws IndexOutOfBoundsException if the range is not inside the array
+     */
+    public int[] argsort(float[] keys, int from, int to) {
+        Objects.checkFromToIndex(from, to, keys.length);
+
+        float[] copy = Arrays.copyOfRange(keys, from, to);
+        int[] order = new int[to - from];
+        for (int i = 0; i < order.length; i++) order[i] = from + i;
+        sort(copy, order);
+        return order;
+    }
+
+    public int[] argsort(float[] keys) {
+        return argsort(keys, 0, keys.length);
+    }
+
+    private static void mergeSort(float[] keys, int[] payload, int lo, int hi, float[] scratchKeys, int[] scratchPayload) {
+        if (hi - lo <= INSERTION_THRESHOLD) {
+            for (int i = lo + 1; i < hi; i++) {
+                float key = keys[i];
+                int value = payload[i];
+                int j = i - 1;
+                while (j >= lo && keys[j] > key) {
+                    keys[j + 1] = keys[j];
+                    payload[j + 1] = payload[j];
+                    j--;
+                }
+                keys[j + 1] = key;
+                payload[j + 1] = value;
+            }
+            return;
+        }
+
+        int mid = (lo + hi) >>> 1;
+        mergeSort(keys, payload, lo, mid, scratchKeys, scratchPayload);
+        mergeSort(keys, payload, mid, hi, scratchKeys, scratchPayload);
+        if (keys[mid - 1] <= keys[mid]) return; // Runs already in order
+
+        int leftLength = mid - lo;
+        System.arraycopy(keys, lo, scratchKeys, 0, leftLength);
+        System.arraycopy(payload, lo, scratchPayload, 0, leftLength);
+        int i = 0, j = mid, k = lo;
+        while (i < leftLength && j < hi) {
+            // Strictly less: on ties the left run goes first, which keeps the sort stable
+            if (keys[j] < scratchKeys[i]) {
+                keys[k] = keys[j];
+                payload[k++] = payload[j++];
+            } else {
+                keys[k] = scratchKeys[i];
+                payload[k++] = scratchPayload[i++];
+            }
+        }
+        System.arraycopy(scratchKeys, i, keys, k, leftLength - i);
+        System.arraycopy(scratchPayload, i, payload, k, leftLength - i);
+    }
+
+    /**
+     * Moves the NaN keys of keys[from, to), with their payloads, behind the
+     * other keys, keeping the order of both parts. Returns the end of the
+     * non-NaN part.
+     */
+    private static int moveNaNsToEnd(float[] keys, int[] payload, int from, int to) {
+        int nans = 0;
+        for (int i = from; i < to; i++) {
+            if (keys[i] != keys[i]) nans++;
+        }
+        if (nans == 0) return to;
+
+        int[] nanPayload = new int[nans];
+        int write = from;
+        for (int read = from, n = 0; read < to; read++) {
+            if (keys[read] == keys[read]) {
+                keys[write] = keys[read];
+                payload[write++] = payload[read];
+            } else {
+                nanPayload[n++] = payload[read];
+            }
+        }
+        for (int i = write, n = 0; i < to; i++) {
+            keys[i] = Float.NaN;
+            payload[i] = nanPayload[n++];
+        }
+        return write;
+    }
+}
@@ -0,0 +1,27 @@
+// Generated from templates/engine/primitive/$Type$Searcher.java.template by tools/GeneratePrimitives.java. Do not edit.
+package engine.primitive;
+
+/**
+ * A console-free searching kernel for float[] data.
+ *
+ * Implementations look for key in the half-open range [from, to) and return
+ * its index, or -1 if it is not there.
+ * An element matches when it differs from the key by less than EPSILON,
+ * the same tolerance as the double engines.
+ */
+public interface FloatSearcher {
+    double EPSILON = engine.Searcher.EPSILON;
+
+    /**
+     * @return the index of key in arr[from, to), or -1 if it is not there
+     * @throws IndexOutOfBoundsException if the range is not inside the array
+     */
+    int search(float[] arr, int from, int to, float key);
+
+    /**
+     * @return the index of key in the whole array, or -1 if it is not there
+     */
+    default int search(float[] arr, float key) {
+        return search(arr, 0, arr.length, key);
+    }
+}
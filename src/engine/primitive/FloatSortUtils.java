@@ -0,0 +1,52 @@
+// Generated from templates/engine/primitive/$Type$SortUtils.java.template by tools/GeneratePrimitives.java. Do not edit.
+package engine.primitive;
+
+/**
+ * Small helpers shared by the float sorting engines.
+ */
+final class FloatSortUtils {
+
+    private FloatSortUtils() {
+    }
+
+    /**
+     * Moves every NaN in arr[from, to) behind the other values, keeping the
+     * order of the non-NaN values, and returns the end of the non-NaN part.
+     */
+    static int moveNaNsToEnd(float[] arr, int from, int to) {
+        int write = from;
+        for (int read = from; read < to; read++) {
+            float value = arr[read];
+            if (value == value) {
+                // The gap [write, read) holds only NaNs, so swapping keeps non-NaNs in order
+                if (write != read) {
+                    arr[read] = arr[write];
+                    arr[write] = value;
+                }
+                write++;
+            }
+        }
+        return write;
+    }
+
+    /**
+     * Stable insertion sort of arr[lo, hi), used for short ranges.
+     */
+    static void insertionSort(float[] arr, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            float key = arr[i];
+            int j = i - 1;
+            while (j >= lo && arr[j] > key) {
+                arr[j + 1] = arr[j];
+                j--;
+            }
+            arr[j + 1] = key;
+        }
+    }
+
+    static void swap(float[] arr, int i, int j) {
+        float temp = arr[i];
+        arr[i] = arr[j];
+        arr[j] = temp;
+    }
+}
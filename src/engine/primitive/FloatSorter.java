@@ -0,0 +1,28 @@
+// Generated from templates/engine/primitive/$Type$Sorter.java.template by tools/GeneratePrimitives.java. Do not edit.
+package engine.primitive;
+
+/**
+ * A console-free sorting kernel for float[] data.
+ *
+ * Implementations sort the half-open range [from, to) in ascending order and
+ * leave the rest of the array untouched. They keep no state between calls, so
+ * one instance can be shared and reused freely.
+ *
+ * NaN values go last, as java.util.Arrays.sort leaves them.
+ */
+public interface FloatSorter {
+
+    /**
+     * Sorts arr[from, to) in ascending order.
+     *
+     * @throws IndexOutOfBoundsException if the range is not inside the array
+     */
+    void sort(float[] arr, int from, int to);
+
+    /**
+     * Sorts the whole array in ascending order.
+     */
+    default void sort(float[] arr) {
+        sort(arr, 0, arr.length);
+    }
+}
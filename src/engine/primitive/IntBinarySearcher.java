@@ -0,0 +1,110 @@
+// Generated from templates/engine/primitive/$Type$BinarySearcher.java.template by tools/GeneratePrimitives.java. Do not edit.
+package engine.primitive;
+
+import java.util.Objects;
+
+/**
+ * ENGINE: Binary Search (int)
+ *
+ * DESCRIPTION:
+ * engine.BinarySearcher for int[]. The range must already be sorted in
+ * ascending order. Every query is a single bisection for the first index
+ * where a monotone condition becomes true:
+ *
+ * - search(x):       lowest index of an element matching x, or -1
+ * - lowerBound(x):   first index with arr[i] >= x
+ * - upperBound(x):   first index with arr[i] > x
+ * - equalRange(x):   the run of elements matching x
+ * - countInRange(a, b): how many elements lie in [a, b)
+ *
+ * All comparisons are exact, so search(x) is lowerBound(x) when that
+ * element equals x, and equalRange(x) is [lowerBound(x), upperBound(x)).
+ * Large long values (epoch nanoseconds, ids above 2^53) stay exact, which
+ * they would not be if widened to double.
+ *
+ * TIME COMPLEXITY: O(log n)
+ * SPACE COMPLEXITY: O(1)
+ */
+public class IntBinarySearcher implements IntSearcher {
+
+    /**
+     * @return the lowest index of an element matching key, or -1
+     */
+    @Override
+    public int search(int[] arr, int from, int to, int key) {
+        Objects.checkFromToIndex(from, to, arr.length);
+
+        int i = lowerBound(arr, from, to, key);
+        return i < to && arr[i] == key ? i : -1;
+    }
+
+    /**
+     * @return the first index in [from, to) whose element is not less than
+     *         key, or to if there is none
+     */
+    public int lowerBound(int[] arr, int from, int to, int key) {
+        Objects.checkFromToIndex(from, to, arr.length);
+
+        int low = from, high = to;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (!(arr[mid] < key)) high = mid;
+            else low = mid + 1;
+        }
+        return low;
+    }
+
+    public int lowerBound(int[] arr, int key) {
+        return lowerBound(arr, 0, arr.length, key);
+    }
+
+    /**
+     * @return the first index in [from, to) whose element is greater than
+     *         key, or to if there is none
+     */
+    public int upperBound(int[] arr, int from, int to, int key) {
+        Objects.checkFromToIndex(from, to, arr.length);
+
+        int low = from, high = to;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (!(arr[mid] <= key)) high = mid;
+            else low = mid + 1;
+        }
+        return low;
+    }
+
+    public int upperBound(int[] arr, int key) {
+        return upperBound(arr, 0, arr.length, key);
+    }
+
+    /**
+     * @return {first, end}: arr[first, end) are exactly the elements matching
+     *         key. The run is empty (first == end) when nothing matches, with
+     *         first at the position key would be inserted.
+     */
+    public int[] equalRange(int[] arr, int from, int to, int key) {
+        int first = lowerBound(arr, from, to, key);
+        return new int[] {first, upperBound(arr, first, to, key)};
+    }
+
+    public int[] equalRange(int[] arr, int key) {
+        return equalRange(arr, 0, arr.length, key);
+    }
+
+    /**
+     * @return the number of elements x in [from, to) with low <= x < high;
+     *         0 if high <= low
+     */
+    public int countInRange(int[] arr, int from, int to, int low, int high) {
+        Objects.checkFromToIndex(from, to, arr.length);
+        if (!(low < high)) return 0;
+
+        int first = lowerBound(arr, from, to, low);
+        return lowerBound(arr, first, to, high) - first;
+    }
+
+    public int countInRange(int[] arr, int low, int high) {
+        return countInRange(arr, 0, arr.length, low, high);
+    }
+}
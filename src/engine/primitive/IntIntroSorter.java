@@ -0,0 +1,131 @@
+// Generated from templates/engine/primitive/$Type$IntroSorter.java.template by tools/GeneratePrimitives.java. Do not edit.
+package engine.primitive;
+
+import java.util.Objects;
+
+/**
+ * ENGINE: Introsort (int)
+ *
+ * DESCRIPTION:
+ * engine.IntroSorter for int[]: ninther pivots, Hoare partition (both
+ * scans stop on equal keys), recursion on the smaller side only, insertion
+ * sort for short ranges and a Heap Sort fallback past 2 * log2(n) levels.
+ *
+ * TIME COMPLEXITY: O(n log n) worst and average
+ * SPACE COMPLEXITY: O(log n)
+ */
+public class IntIntroSorter implements IntSorter {
+    static final int INSERTION_THRESHOLD = 24;
+    static final int NINTHER_THRESHOLD = 128;
+
+    @Override
+    public void sort(int[] arr, int from, int to) {
+        Objects.checkFromToIndex(from, to, arr.length);
+
+        if (to - from < 2) return;
+
+        introSort(arr, from, to, depthLimit(to - from));
+    }
+
+    static int depthLimit(int n) {
+        return 2 * (31 - Integer.numberOfLeadingZeros(n));
+    }
+
+    /**
+     * Sorts arr[lo, hi), falling back to Heap Sort after depth more levels.
+     */
+    static void introSort(int[] arr, int lo, int hi, int depth) {
+        while (hi - lo > INSERTION_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(arr, lo, hi);
+                return;
+            }
+
+            int p = partition(arr, lo, hi);
+
+            // Recurse into the smaller side, keep looping on the larger one
+            if (p - lo < hi - p - 1) {
+                introSort(arr, lo, p, depth);
+                lo = p + 1;
+            } else {
+                introSort(arr, p + 1, hi, depth);
+                hi = p;
+            }
+        }
+        IntSortUtils.insertionSort(arr, lo, hi);
+    }
+
+    /**
+     * Hoare partition of arr[lo, hi) around a median-of-three or ninther pivot.
+     * Returns the pivot's final index p: arr[lo, p) <= arr[p] <= arr[p + 1, hi).
+     */
+    static int partition(int[] arr, int lo, int hi) {
+        IntSortUtils.swap(arr, lo, choosePivot(arr, lo, hi));
+        int pivot = arr[lo];
+
+        int i = lo;
+        int j = hi;
+        while (true) {
+            while (arr[++i] < pivot) {
+                if (i == hi - 1) break;
+            }
+            while (pivot < arr[--j]) {
+                if (j == lo) break;
+            }
+            if (i >= j) break;
+            IntSortUtils.swap(arr, i, j);
+        }
+
+        IntSortUtils.swap(arr, lo, j);
+        return j;
+    }
+
+    static int choosePivot(int[] arr, int lo, int hi) {
+        int n = hi - lo;
+        int mid = (lo + hi) >>> 1;
+        int last = hi - 1;
+
+        if (n <= NINTHER_THRESHOLD) {
+            return medianOfThree(arr, lo, mid, last);
+        }
+
+        // Tukey's ninther: the median of three medians spread over the range
+        int step = n >>> 3;
+        int a = medianOfThree(arr, lo, lo + step, lo + 2 * step);
+        int b = medianOfThree(arr, mid - step, mid, mid + step);
+        int c = medianOfThree(arr, last - 2 * step, last - step, last);
+        return medianOfThree(arr, a, b, c);
+    }
+
+    static int medianOfThree(int[] arr, int a, int b, int c) {
+        if (arr[a] < arr[b]) {
+            if (arr[b] < arr[c]) return b;
+            return arr[a] < arr[c] ? c : a;
+        }
+        if (arr[a] < arr[c]) return a;
+        return arr[b] < arr[c] ? c : b;
+    }
+
+    static void heapSort(int[] arr, int lo, int hi) {
+        int n = hi - lo;
+        for (int i = (n >>> 1) - 1; i >= 0; i--) {
+            siftDown(arr, lo, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            IntSortUtils.swap(arr, lo, lo + end);
+            siftDown(arr, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(int[] arr, int base, int i, int n) {
+        int value = arr[base + i];
+        int child;
+        while ((child = 2 * i + 1) < n) {
+            if (child + 1 < n && arr[base + child] < arr[base + child + 1]) child++;
+            if (!(value < arr[base + child])) break;
+            arr[base + i] = arr[base + child];
+            i = child;
+        }
+        arr[base + i] = value;
+    }
+}
@@ -0,0 +1,51 @@
+// Generated from templates/engine/primitive/$Type$MergeSorter.java.template by tools/GeneratePrimitives.java. Do not edit.
+package engine.primitive;
+
+import java.util.Objects;
+
+/**
+ * ENGINE: Merge Sort (int)
+ *
+ * DESCRIPTION:
+ * Stable Merge Sort for int[] with one scratch array per sort (half the
+ * range). Each merge copies its left run out and merges back in place, runs
+ * of INSERTION_THRESHOLD elements or fewer are insertion-sorted, and a merge
+ * is skipped when its two runs are already in order, so presorted input
+ * costs O(n).
+ *
+ * TIME COMPLEXITY: O(n log n)
+ * SPACE COMPLEXITY: O(n)
+ */
+public class IntMergeSorter implements IntSorter {
+    static final int INSERTION_THRESHOLD = 32;
+
+    @Override
+    public void sort(int[] arr, int from, int to) {
+        Objects.checkFromToIndex(from, to, arr.length);
+
+        if (to - from < 2) return;
+
+        mergeSort(arr, from, to, new int[(to - from + 1) / 2]);
+    }
+
+    private static void mergeSort(int[] arr, int lo, int hi, int[] scratch) {
+        if (hi - lo <= INSERTION_THRESHOLD) {
+            IntSortUtils.insertionSort(arr, lo, hi);
+            return;
+        }
+
+        int mid = (lo + hi) >>> 1;
+        mergeSort(arr, lo, mid, scratch);
+        mergeSort(arr, mid, hi, scratch);
+        if (arr[mid - 1] <= arr[mid]) return; // Runs already in order
+
+        // Only the left run is copied out; the write position never overtakes the right run
+        int leftLength = mid - lo;
+        System.arraycopy(arr, lo, scratch, 0, leftLength);
+        int i = 0, j = mid, k = lo;
+        while (i < leftLength && j < hi) {
+            arr[k++] = arr[j] < scratch[i] ? arr[j++] : scratch[i++];
+        }
+        System.arraycopy(scratch, i, arr, k, leftLength - i);
+    }
+}
@@ -0,0 +1,156 @@
+// Generated from templates/engine/primitive/$Type$RadixCoSorter.java.template by tools/GeneratePrimitives.java. Do not edit.
+package engine.primitive;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * ENGINE: LSD Radix Sort with payload (int keys)
+ *
+ * DESCRIPTION:
+ * IntRadixSorter that moves an int[] payload along with the keys, in the
+ * same way engine.RadixCoSorter does for double keys: the same keys and
+ * digits, skipping of shared digits, and keys and payload scattered together.
+ * Every pass is stable, so equal keys keep their payloads in the original
+ * order. Ranges shorter than RADIX_THRESHOLD use a stable Merge Sort instead.
+ *
+ * argsort returns the order of the keys without modifying them.
+ *
+ * TIME COMPLEXITY: O(n) (at most three passes)
+ * SPACE COMPLEXITY: O(n)
+ */
+public class IntRadixCoSorter {
+    static final int INSERTION_THRESHOLD = 32;
+
+    /**
+     * Sorts keys[from, to) in ascending order and applies the same
+     * permutation to payload[from, to).
+     *
+     * @throws IndexOutOfBoundsException if the range is not inside both arrays
+     */
+    public void sort(int[] keys, int[] payload, int from, int to) {
+        Objects.checkFromToIndex(from, to, keys.length);
+        Objects.checkFromToIndex(from, to, payload.length);
+
+        int n = to - from;
+        if (n < IntRadixSorter.RADIX_THRESHOLD) {
+            if (n > 1) {
+                int half = (n + 1) / 2;
+                mergeSort(keys, payload, from, to, new int[half], new int[half]);
+            }
+            return;
+        }
+
+        int[] counts = new int[IntRadixSorter.PASSES * IntRadixSorter.RADIX];
+        for (int i = from; i < to; i++) {
+            int key = IntRadixSorter.key(keys[i]);
+            for (int pass = 0; pass < IntRadixSorter.PASSES; pass++) {
+                counts[pass * IntRadixSorter.RADIX + IntRadixSorter.digit(key, pass)]++;
+            }
+        }
+
+        int[] srcKeys = keys, dstKeys = new int[n];
+        int[] srcPayload = payload, dstPayload = new int[n];
+        int srcBase = from, dstBase = 0;
+        int firstKey = IntRadixSorter.key(keys[from]);
+
+        for (int pass = 0; pass < IntRadixSorter.PASSES; pass++) {
+            int offset = pass * IntRadixSorter.RADIX;
+            if (counts[offset + IntRadixSorter.digit(firstKey, pass)] == n) continue; // Every key shares this digit
+
+            int sum = 0;
+            for (int d = 0; d < IntRadixSorter.RADIX; d++) {
+                int count = counts[offset + d];
+                counts[offset + d] = sum;
+                sum += count;
+            }
+
+            for (int i = 0; i < n; i++) {
+                int key = srcKeys[srcBase + i];
+                int target = dstBase + counts[offset + IntRadixSorter.digit(IntRadixSorter.key(key), pass)]++;
+                dstKeys[target] = key;
+                dstPayload[target] = srcPayload[srcBase + i];
+            }
+
+            int[] tempKeys = srcKeys;
+            srcKeys = dstKeys;
+            dstKeys = tempKeys;
+            int[] tempPayload = srcPayload;
+            srcPayload = dstPayload;
+            dstPayload = tempPayload;
+            int tempBase = srcBase;
+            srcBase = dstBase;
+            dstBase = tempBase;
+        }
+
+        // An odd number of passes leaves the result in the scratch arrays
+        if (srcKeys != keys) {
+            System.arraycopy(srcKeys, 0, keys, from, n);
+            System.arraycopy(srcPayload, 0, payload, from, n);
+        }
+    }
+
+    public void sort(int[] keys, int[] payload) {
+        sort(keys, payload, 0, keys.length);
+    }
+
+    /**
+     * Returns the indices of keys[from, to) in the order that sorts them.
+     * keys itself is not modified.
+     *
+     * @throws IndexOutOfBoundsException if the range is not inside the array
+     */
+    public int[] argsort(int[] keys, int from, int to) {
+        Objects.checkFromToIndex(from, to, keys.length);
+
+        int[] copy = Arrays.copyOfRange(keys, from, to);
+        int[] order = new int[to - from];
+        for (int i = 0; i < order.length; i++) order[i] = from + i;
+        sort(copy, order);
+        return order;
+    }
+
+    public int[] argsort(int[] keys) {
+        return argsort(keys, 0, keys.length);
+    }
+
+    private static void mergeSort(int[] keys, int[] payload, int lo, int hi, int[] scratchKeys, int[] scratchPayload) {
+        if (hi - lo <= INSERTION_THRESHOLD) {
+            for (int i = lo + 1; i < hi; i++) {
+                int key = keys[i];
+                int value = payload[i];
+                int j = i - 1;
+                while (j >= lo && keys[j] > key) {
+                    keys[j + 1] = keys[j];
+                    payload[j + 1] = payload[j];
+                    j--;
+                }
+                keys[j + 1] = key;
+                payload[j + 1] = value;
+            }
+            return;
+        }
+
+        int mid = (lo + hi) >>> 1;
+        mergeSort(keys, payload, lo, mid, scratchKeys, scratchPayload);
+        mergeSort(keys, payload, mid, hi, scratchKeys, scratchPayload);
+        if (keys[mid - 1] <= keys[mid]) return; // Runs already in order
+
+        int leftLength = mid - lo;
+        System.arraycopy(keys, lo, scratchKeys, 0, leftLength);
+        System.arraycopy(payload, lo, scratchPayload, 0, leftLength);
+        int i = 0, j = mid, k = lo;
+        while (i < leftLength && j < hi) {
+            // Strictly less: on ties the left run goes first, which keeps the sort stable
+            if (keys[j] < scratchKeys[i]) {
+                keys[k] = keys[j];
+                payload[k++] = payload[j++];
+            } else {
+                keys[k] = scratchKeys[i];
+                payload[k++] = scratchPayload[i++];
+            }
+        }
+        System.arraycopy(scratchKeys, i, keys, k, leftLength - i);
+        System.arraycopy(scratchPayload, i, payload, k, leftLength - i);
+    }
+}
@@ -0,0 +1,91 @@
+// Generated from templates/engine/primitive/$Type$RadixSorter.java.template by tools/GeneratePrimitives.java. Do not edit.
+package engine.primitive;
+
+import java.util.Objects;
+
+/**
+ * ENGINE: LSD Radix Sort (int)
+ *
+ * DESCRIPTION:
+ * engine.RadixSorter for int[]. Each value is mapped to a key whose
+ * unsigned order matches the numeric order:
+ *
+ *     key = x ^ Integer.MIN_VALUE            (flips the sign bit)
+ *
+ * and the keys are sorted 11 bits per pass: one histogram pass for all
+ * digits, then one scatter pass per digit, skipping digits every element
+ * shares. That happens often with small non-negative integers, whose high
+ * digits are all equal. Ranges shorter than RADIX_THRESHOLD go to Introsort.
+ *
+ * TIME COMPLEXITY: O(n) (at most three passes)
+ * SPACE COMPLEXITY: O(n)
+ */
+public class IntRadixSorter implements IntSorter {
+    static final int BITS = 11;
+    static final int RADIX = 1 << BITS;
+    static final int MASK = RADIX - 1;
+    static final int PASSES = (Integer.SIZE + BITS - 1) / BITS;
+    static final int RADIX_THRESHOLD = 1 << 12;
+
+    @Override
+    public void sort(int[] arr, int from, int to) {
+        Objects.checkFromToIndex(from, to, arr.length);
+
+        int n = to - from;
+        if (n < RADIX_THRESHOLD) {
+            if (n > 1) IntIntroSorter.introSort(arr, from, to, IntIntroSorter.depthLimit(n));
+            return;
+        }
+
+        // Histograms of all digits in one pass
+        int[] counts = new int[PASSES * RADIX];
+        for (int i = from; i < to; i++) {
+            int key = key(arr[i]);
+            for (int pass = 0; pass < PASSES; pass++) {
+                counts[pass * RADIX + digit(key, pass)]++;
+            }
+        }
+
+        int[] src = arr, dst = new int[n];
+        int srcBase = from, dstBase = 0;
+        int firstKey = key(arr[from]);
+
+        for (int pass = 0; pass < PASSES; pass++) {
+            int offset = pass * RADIX;
+            if (counts[offset + digit(firstKey, pass)] == n) continue; // Every element shares this digit
+
+            int sum = 0;
+            for (int d = 0; d < RADIX; d++) {
+                int count = counts[offset + d];
+                counts[offset + d] = sum;
+                sum += count;
+            }
+
+            for (int i = 0; i < n; i++) {
+                int value = src[srcBase + i];
+                dst[dstBase + counts[offset + digit(key(value), pass)]++] = value;
+            }
+
+            int[] temp = src;
+            src = dst;
+            dst = temp;
+            int tempBase = srcBase;
+            srcBase = dstBase;
+            dstBase = tempBase;
+        }
+
+        // An odd number of passes leaves the result in the buffer
+        if (src != arr) System.arraycopy(src, 0, arr, from, n);
+    }
+
+    /**
+     * Maps a int to a int whose unsigned order matches the numeric order.
+     */
+    static int key(int value) {
+        return value ^ Integer.MIN_VALUE;
+    }
+
+    static int digit(int key, int pass) {
+        return (key >>> (pass * BITS)) & MASK;
+    }
+}
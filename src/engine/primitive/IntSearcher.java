@@ -0,0 +1,25 @@
+// Generated from templates/engine/primitive/$Type$Searcher.java.template by tools/GeneratePrimitives.java. Do not edit.
+package engine.primitive;
+
+/**
+ * A console-free searching kernel for int[] data.
+ *
+ * Implementations look for key in the half-open range [from, to) and return
+ * its index, or -1 if it is not there.
+ * Matching is exact: int values have no rounding error to allow for.
+ */
+public interface IntSearcher {
+
+    /**
+     * @return the index of key in arr[from, to), or -1 if it is not there
+     * @throws IndexOutOfBoundsException if the range is not inside the array
+     */
+    int search(int[] arr, int from, int to, int key);
+
+    /**
+     * @return the index of key in the whole array, or -1 if it is not there
+     */
+    default int search(int[] arr, int key) {
+        return search(arr, 0, arr.length, key);
+    }
+}
@@ -0,0 +1,32 @@
+// Generated from templates/engine/primitive/$Type$SortUtils.java.template by tools/GeneratePrimitives.java. Do not edit.
+package engine.primitive;
+
+/**
+ * Small helpers shared by the int sorting engines.
+ */
+final class IntSortUtils {
+
+    private IntSortUtils() {
+    }
+
+    /**
+     * Stable insertion sort of arr[lo, hi), used for short ranges.
+     */
+    static void insertionSort(int[] arr, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            int key = arr[i];
+            int j = i - 1;
+            while (j >= lo && arr[j] > key) {
+                arr[j + 1] = arr[j];
+                j--;
+            }
+            arr[j + 1] = key;
+        }
+    }
+
+    static void swap(int[] arr, int i, int j) {
+        int temp = arr[i];
+        arr[i] = arr[j];
+        arr[j] = temp;
+    }
+}
@@ -0,0 +1,26 @@
+// Generated from templates/engine/primitive/$Type$Sorter.java.template by tools/GeneratePrimitives.java. Do not edit.
+package engine.primitive;
+
+/**
+ * A console-free sorting kernel for int[] data.
+ *
+ * Implementations sort the half-open range [from, to) in ascending order and
+ * leave the rest of the array untouched. They keep no state between calls, so
+ * one instance can be shared and reused freely.
+ */
+public interface IntSorter {
+
+    /**
+     * Sorts arr[from, to) in ascending order.
+     *
+     * @throws IndexOutOfBoundsException if the range is not inside the array
+     */
+    void sort(int[] arr, int from, int to);
+
+    /**
+     * Sorts the whole array in ascending order.
+     */
+    default void sort(int[] arr) {
+        sort(arr, 0, arr.length);
+    }
+}
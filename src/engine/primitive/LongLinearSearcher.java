@@ -0,0 +1,27 @@
+// Generated from templates/engine/primitive/$Type$LinearSearcher.java.template by tools/GeneratePrimitives.java. Do not edit.
+package engine.primitive;
+
+import java.util.Objects;
+
+/**
+ * ENGINE: Linear Search (long)
+ *
+ * DESCRIPTION:
+ * Checks every element from the start of the range and stops at the first
+ * match, so it returns the lowest matching index. Works on unsorted data.
+ *
+ * TIME COMPLEXITY: O(n)
+ * SPACE COMPLEXITY: O(1)
+ */
+public class LongLinearSearcher implements LongSearcher {
+
+    @Override
+    public int search(long[] arr, int from, int to, long key) {
+        Objects.checkFromToIndex(from, to, arr.length);
+
+        for (int i = from; i < to; i++) {
+            if (arr[i] == key) return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,156 @@
+// Generated from templates/engine/primitive/$Type$RadixCoSorter.java.template by tools/GeneratePrimitives.java. Do not edit.
+package engine.primitive;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * ENGINE: LSD Radix Sort with payload (long keys)
+ *
+ * DESCRIPTION:
+ * LongRadixSorter that moves an int[] payload along with the keys, in the
+ * same way engine.RadixCoSorter does for double keys: the same keys and
+ * digits, skipping of shared digits, and keys and payload scattered together.
+ * Every pass is stable, so equal keys keep their payloads in the original
+ * order. Ranges shorter than RADIX_THRESHOLD use a stable Merge Sort instead.
+ *
+ * argsort returns the order of the keys without modifying them.
+ *
+ * TIME COMPLEXITY: O(n) (at most six passes)
+ * SPACE COMPLEXITY: O(n)
+ */
+public class LongRadixCoSorter {
+    static final int INSERTION_THRESHOLD = 32;
+
+    /**
+     * Sorts keys[from, to) in ascending order and applies the same
+     * permutation to payload[from, to).
+     *
+     * @throws IndexOutOfBoundsException if the range is not inside both arrays
+     */
+    public void sort(long[] keys, int[] payload, int from, int to) {
+        Objects.checkFromToIndex(from, to, keys.length);
+        Objects.checkFromToIndex(from, to, payload.length);
+
+        int n = to - from;
+        if (n < LongRadixSorter.RADIX_THRESHOLD) {
+            if (n > 1) {
+                int half = (n + 1) / 2;
+                mergeSort(keys, payload, from, to, new long[half], new int[half]);
+            }
+            return;
+        }
+
+        int[] counts = new int[LongRadixSorter.PASSES * LongRadixSorter.RADIX];
+        for (int i = from; i < to; i++) {
+            long key = LongRadixSorter.key(keys[i]);
+            for (int pass = 0; pass < LongRadixSorter.PASSES; pass++) {
+                counts[pass * LongRadixSorter.RADIX + LongRadixSorter.digit(key, pass)]++;
+            }
+        }
+
+        long[] srcKeys = keys, dstKeys = new long[n];
+        int[] srcPayload = payload, dstPayload = new int[n];
+        int srcBase = from, dstBase = 0;
+        long firstKey = LongRadixSorter.key(keys[from]);
+
+        for (int pass = 0; pass < LongRadixSorter.PASSES; pass++) {
+            int offset = pass * LongRadixSorter.RADIX;
+            if (counts[offset + LongRadixSorter.digit(firstKey, pass)] == n) continue; // Every key shares this digit
+
+            int sum = 0;
+            for (int d = 0; d < LongRadixSorter.RADIX; d++) {
+                int count = counts[offset + d];
+                counts[offset + d] = sum;
+                sum += count;
+            }
+
+            for (int i = 0; i < n; i++) {
+                long key = srcKeys[srcBase + i];
+                int target = dstBase + counts[offset + LongRadixSorter.digit(LongRadixSorter.key(key), pass)]++;
+                dstKeys[target] = key;
+                dstPayload[target] = srcPayload[srcBase + i];
+            }
+
+            long[] tempKeys = srcKeys;
+            srcKeys = dstKeys;
+            dstKeys = tempKeys;
+            int[] tempPayload = srcPayload;
+            srcPayload = dstPayload;
+            dstPayload = tempPayload;
+            int tempBase = srcBase;
+            srcBase = dstBase;
+            dstBase = tempBase;
+        }
+
+        // An odd number of passes leaves the result in the scratch arrays
+        if (srcKeys != keys) {
+            System.arraycopy(srcKeys, 0, keys, from, n);
+            System.arraycopy(srcPayload, 0, payload, from, n);
+        }
+    }
+
+    public void sort(long[] keys, int[] payload) {
+        sort(keys, payload, 0, keys.length);
+    }
+
+    /**
+     * Returns the indices of keys[from, to) in the order that sorts them.
+     * keys itself is not modified.
+     *
+     * @throws IndexOutOfBoundsException if the range is not inside the array
+     */
+    public int[] argsort(long[] keys, int from, int to) {
+        Objects.checkFromToIndex(from, to, keys.length);
+
+        long[] copy = Arrays.copyOfRange(keys, from, to);
+        int[] order = new int[to - from];
+        for (int i = 0; i < order.length; i++) order[i] = from + i;
+        sort(copy, order);
+        return order;
+    }
+
+    public int[] argsort(long[] keys) {
+        return argsort(keys, 0, keys.length);
+    }
+
+    private static void mergeSort(long[] keys, int[] payload, int lo, int hi, long[] scratchKeys, int[] scratchPayload) {
+        if (hi - lo <= INSERTION_THRESHOLD) {
+            for (int i = lo + 1; i < hi; i++) {
+                long key = keys[i];
+                int value = payload[i];
+                int j = i - 1;
+                while (j >= lo && keys[j] > key) {
+                    keys[j + 1] = keys[j];
+                    payload[j + 1] = payload[j];
+                    j--;
+                }
+                keys[j + 1] = key;
+                payload[j + 1] = value;
+            }
+            return;
+        }
+
+        int mid = (lo + hi) >>> 1;
+        mergeSort(keys, payload, lo, mid, scratchKeys, scratchPayload);
+        mergeSort(keys, payload, mid, hi, scratchKeys, scratchPayload);
+        if (keys[mid - 1] <= keys[mid]) return; // Runs already in order
+
+        int leftLength = mid - lo;
+        System.arraycopy(keys, lo, scratchKeys, 0, leftLength);
+        System.arraycopy(payload, lo, scratchPayload, 0, leftLength);
+        int i = 0, j = mid, k = lo;
+        while (i < leftLength && j < hi) {
+            // Strictly less: on ties the left run goes first, which keeps the sort stable
+            if (keys[j] < scratchKeys[i]) {
+                keys[k] = keys[j];
+                payload[k++] = payload[j++];
+            } else {
+                keys[k] = scratchKeys[i];
+                payload[k++] = scratchPayload[i++];
+            }
+        }
+        System.arraycopy(scratchKeys, i, keys, k, leftLength - i);
+        System.arraycopy(scratchPayload, i, payload, k, leftLength - i);
+    }
+}
@@ -0,0 +1,91 @@
+// Generated from templates/engine/primitive/$Type$RadixSorter.java.template by tools/GeneratePrimitives.java. Do not edit.
+package engine.primitive;
+
+import java.util.Objects;
+
+/**
+ * ENGINE: LSD Radix Sort (long)
+ *
+ * DESCRIPTION:
+ * engine.RadixSorter for long[]. Each value is mapped to a key whose
+ * unsigned order matches the numeric order:
+ *
+ *     key = x ^ Long.MIN_VALUE            (flips the sign bit)
+ *
+ * and the keys are sorted 11 bits per pass: one histogram pass for all
+ * digits, then one scatter pass per digit, skipping digits every element
+ * shares. That happens often with small non-negative integers, whose high
+ * digits are all equal. Ranges shorter than RADIX_THRESHOLD go to Introsort.
+ *
+ * TIME COMPLEXITY: O(n) (at most six passes)
+ * SPACE COMPLEXITY: O(n)
+ */
+public class LongRadixSorter implements LongSorter {
+    static final int BITS = 11;
+    static final int RADIX = 1 << BITS;
+    static final int MASK = RADIX - 1;
+    static final int PASSES = (Long.SIZE + BITS - 1) / BITS;
+    static final int RADIX_THRESHOLD = 1 << 12;
+
+    @Override
+    public void sort(long[] arr, int from, int to) {
+        Objects.checkFromToIndex(from, to, arr.length);
+
+        int n = to - from;
+        if (n < RADIX_THRESHOLD) {
+            if (n > 1) LongIntroSorter.introSort(arr, from, to, LongIntroSorter.depthLimit(n));
+            return;
+        }
+
+        // Histograms of all digits in one pass
+        int[] counts = new int[PASSES * RADIX];
+        for (int i = from; i < to; i++) {
+            long key = key(arr[i]);
+            for (int pass = 0; pass < PASSES; pass++) {
+                counts[pass * RADIX + digit(key, pass)]++;
+            }
+        }
+
+        long[] src = arr, dst = new long[n];
+        int srcBase = from, dstBase = 0;
+        long firstKey = key(arr[from]);
+
+        for (int pass = 0; pass < PASSES; pass++) {
+            int offset = pass * RADIX;
+            if (counts[offset + digit(firstKey, pass)] == n) continue; // Every element shares this digit
+
+            int sum = 0;
+            for (int d = 0; d < RADIX; d++) {
+                int count = counts[offset + d];
+                counts[offset + d] = sum;
+                sum += count;
+            }
+
+            for (int i = 0; i < n; i++) {
+                long value = src[srcBase + i];
+                dst[dstBase + counts[offset + digit(key(value), pass)]++] = value;
+            }
+
+            long[] temp = src;
+            src = dst;
+            dst = temp;
+            int tempBase = srcBase;
+            srcBase = dstBase;
+            dstBase = tempBase;
+        }
+
+        // An odd number of passes leaves the result in the buffer
+        if (src != arr) System.arraycopy(src, 0, arr, from, n);
+    }
+
+    /**
+     * Maps a long to a long whose unsigned order matches the numeric order.
+     */
+    static long key(long value) {
+        return value ^ Long.MIN_VALUE;
+    }
+
+    static int digit(long key, int pass) {
+        return (int) (key >>> (pass * BITS)) & MASK;
+    }
+}
@@ -0,0 +1,32 @@
+// Generated from templates/engine/primitive/$Type$SortUtils.java.template by tools/GeneratePrimitives.java. Do not edit.
+package engine.primitive;
+
+/**
+ * Small helpers shared by the long sorting engines.
+ */
+final class LongSortUtils {
+
+    private LongSortUtils() {
+    }
+
+    /**
+     * Stable insertion sort of arr[lo, hi), used for short ranges.
+     */
+    static void insertionSort(long[] arr, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            long key = arr[i];
+            int j = i - 1;
+            while (j >= lo && arr[j] > key) {
+                arr[j + 1] = arr[j];
+                j--;
+            }
+            arr[j + 1] = key;
+        }
+    }
+
+    static void swap(long[] arr, int i, int j) {
+        long temp = arr[i];
+        arr[i] = arr[j];
+        arr[j] = temp;
+    }
+}
@@ -0,0 +1,107 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Primitive Engine Generator
+ *
+ * DESCRIPTION:
+ * Expands the templates in templates/engine/primitive/ into the int, long
+ * and float engines in src/engine/primitive/. One template per engine keeps
+ * the three variants identical apart from the element type. Edit the
+ * template, never the generated file, then rerun from the project root:
+ *
+ *     java tools/GeneratePrimitives.java
+ *
+ * TEMPLATE SYNTAX:
+ * - $type$, $Type$, $Boxed$: int / Int / Integer (and so on for long, float)
+ * - $key$: the unsigned radix key type (int for int and float, long for long)
+ * - A line holding only #if[cond], #else[cond] or #end[cond] starts, flips
+ *   or ends a block kept only when cond holds. cond is the element type
+ *   (int, long, float), integral or floating. Blocks may nest.
+ *
+ * File names substitute $Type$ the same way: $Type$Sorter.java.template
+ * becomes IntSorter.java, LongSorter.java and FloatSorter.java.
+ */
+public class GeneratePrimitives {
+    private static final Path TEMPLATES = Paths.get("templates", "engine", "primitive");
+    private static final Path OUTPUT = Paths.get("src", "engine", "primitive");
+    private static final String SUFFIX = ".template";
+
+    private static final List<Map<String, String>> TYPES = List.of(
+            Map.of("type", "int", "Type", "Int", "Boxed", "Integer", "key", "int", "kind", "integral"),
+            Map.of("type", "long", "Type", "Long", "Boxed", "Long", "key", "long", "kind", "integral"),
+            Map.of("type", "float", "Type", "Float", "Boxed", "Float", "key", "int", "kind", "floating"));
+
+    public static void main(String[] args) throws IOException {
+        Files.createDirectories(OUTPUT);
+        int written = 0;
+        try (DirectoryStream<Path> templates = Files.newDirectoryStream(TEMPLATES, "*" + SUFFIX)) {
+            for (Path template : templates) {
+                List<String> lines = Files.readAllLines(template, StandardCharsets.UTF_8);
+                String name = template.getFileName().toString();
+                name = name.substring(0, name.length() - SUFFIX.length());
+
+                for (Map<String, String> type : TYPES) {
+                    Path target = OUTPUT.resolve(substitute(name, type));
+                    Files.write(target, expand(lines, type, template), StandardCharsets.UTF_8);
+                    written++;
+                }
+            }
+        }
+        System.out.println("Generated " + written + " files in " + OUTPUT);
+    }
+
+    private static List<String> expand(List<String> lines, Map<String, String> type, Path template) {
+        Set<String> conditions = Set.of(type.get("type"), type.get("kind"));
+        Deque<String> open = new ArrayDeque<>();
+        Deque<Boolean> keep = new ArrayDeque<>();
+        List<String> out = new ArrayList<>();
+        out.add("// Generated from " + TEMPLATES.resolve(template.getFileName()).toString().replace('\\', '/')
+                + " by tools/GeneratePrimitives.java. Do not edit.");
+
+        for (int n = 0; n < lines.size(); n++) {
+            String line = lines.get(n);
+            String directive = line.trim();
+            if (directive.startsWith("#if[") || directive.startsWith("#else[") || directive.startsWith("#end[")) {
+                String condition = directive.substring(directive.indexOf('[') + 1, directive.length() - 1);
+                if (directive.startsWith("#if[")) {
+                    boolean outer = keep.isEmpty() || keep.peek();
+                    open.push(condition);
+                    keep.push(outer && conditions.contains(condition));
+                    continue;
+                }
+                if (!condition.equals(open.peek())) {
+                    throw new IllegalStateException(template + ":" + (n + 1) + ": " + directive + " does not match #if[" + open.peek() + "]");
+                }
+                keep.pop();
+                if (directive.startsWith("#else[")) {
+                    boolean outer = keep.isEmpty() || keep.peek();
+                    keep.push(outer && !conditions.contains(condition));
+                } else {
+                    open.pop();
+                }
+                continue;
+            }
+            if (keep.isEmpty() || keep.peek()) out.add(substitute(line, type));
+        }
+        if (!open.isEmpty()) throw new IllegalStateException(template + ": unclosed #if[" + open.peek() + "]");
+        return out;
+    }
+
+    private static String substitute(String text, Map<String, String> type) {
+        for (Map.Entry<String, String> variable : type.entrySet()) {
+            text = text.replace("$" + variable.getKey() + "$", variable.getValue());
+        }
+        return text;
+    }
+}